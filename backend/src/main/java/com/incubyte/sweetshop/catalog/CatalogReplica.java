@@ -0,0 +1,244 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read replica of the whole catalog held as an immutable, id-sorted snapshot.
+ * Writers build a new snapshot and swap it in (copy-on-write), so readers never
+ * lock or touch the database. Changes made through {@code SweetService} are
+ * applied after commit; a periodic full reload picks up anything else, and a
+ * snapshot older than the staleness bound is not served. A reload reads the
+ * table without holding the write lock and replays the changes that arrived
+ * meanwhile before swapping its snapshot in. Locks are {@link ReentrantLock}s
+ * so the commit-time listeners never pin a virtual thread's carrier.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogReplica {
+
+    private final SweetRepository sweetRepository;
+
+    @Value("${sweets.replica.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${sweets.replica.max-staleness-ms:30000}")
+    private long maxStalenessMs = 30_000;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Lock reloadLock = new ReentrantLock();
+    private final Lock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    // Non-null while a reload is reading the database
+    private List<SweetChangedEvent> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${sweets.replica.refresh-interval-ms:10000}",
+               initialDelayString = "${sweets.replica.refresh-interval-ms:10000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+            Snapshot loaded;
+            try {
+                List<Sweet> sweets = sweetRepository.findAll(Sort.by("id"));
+                long[] ids = new long[sweets.size()];
+                Sweet[] copies = new Sweet[sweets.size()];
+                for (int i = 0; i < copies.length; i++) {
+                    copies[i] = copy(sweets.get(i));
+                    ids[i] = copies[i].getId();
+                }
+                loaded = new Snapshot(ids, copies, System.nanoTime());
+            } catch (RuntimeException e) {
+                // Keep serving the old snapshot until it exceeds the staleness bound
+                log.warn("Catalog replica reload failed", e);
+                loaded = null;
+            }
+            writeLock.lock();
+            try {
+                if (loaded != null) {
+                    for (SweetChangedEvent event : pending) {
+                        loaded = apply(loaded, event);
+                    }
+                    snapshot = loaded;
+                }
+                pending = null;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        reload();
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            Snapshot current = snapshot;
+            if (current != null) {
+                snapshot = apply(current, event);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the sweet, or empty when the replica cannot answer (disabled,
+     * stale, or id unknown) and the caller must query the database. The
+     * returned instance is shared and must not be modified.
+     */
+    public Optional<Sweet> findById(long id) {
+        Snapshot current = freshSnapshot();
+        if (current != null) {
+            int index = Arrays.binarySearch(current.ids, id);
+            if (index >= 0) {
+                hits.increment();
+                return Optional.of(current.sweets[index]);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /** Returns up to {@code limit} sweets with ids greater than {@code afterId}, or empty on a miss. */
+    public Optional<List<Sweet>> findPage(long afterId, int limit) {
+        Snapshot current = freshSnapshot();
+        if (current == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        int index = Arrays.binarySearch(current.ids, afterId);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        int to = (int) Math.min((long) from + limit, current.ids.length);
+        return Optional.of(Collections.unmodifiableList(Arrays.asList(current.sweets).subList(from, to)));
+    }
+
+    /** Returns the whole catalog, or empty on a miss. */
+    public Optional<List<Sweet>> findAll() {
+        return findPage(Long.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the whole catalog for internal readers such as metrics, or empty
+     * on a miss. Not counted as a hit or miss, so the replica read counters
+     * reflect request traffic only.
+     */
+    public Optional<List<Sweet>> peekAll() {
+        Snapshot current = freshSnapshot();
+        return current == null
+                ? Optional.empty()
+                : Optional.of(Collections.unmodifiableList(Arrays.asList(current.sweets)));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Snapshot freshSnapshot() {
+        Snapshot current = snapshot;
+        if (!enabled || current == null
+                || System.nanoTime() - current.loadedAtNanos > maxStalenessMs * 1_000_000L) {
+            return null;
+        }
+        return current;
+    }
+
+    private static Snapshot apply(Snapshot snapshot, SweetChangedEvent event) {
+        Sweet sweet = event.getSweet();
+        return event.getType() == SweetChangedEvent.ChangeType.DELETED
+                ? snapshot.without(sweet.getId())
+                : snapshot.with(copy(sweet));
+    }
+
+    private static Sweet copy(Sweet sweet) {
+        return new Sweet(sweet.getId(), sweet.getName(), sweet.getCategory(), sweet.getPrice(), sweet.getQuantity(),
+                sweet.getVersion());
+    }
+
+    private record Snapshot(long[] ids, Sweet[] sweets, long loadedAtNanos) {
+
+        Snapshot with(Sweet sweet) {
+            int index = Arrays.binarySearch(ids, sweet.getId());
+            if (index >= 0) {
+                Sweet[] updated = sweets.clone();
+                updated[index] = sweet;
+                return new Snapshot(ids, updated, loadedAtNanos);
+            }
+            int insertAt = -index - 1;
+            long[] newIds = new long[ids.length + 1];
+            Sweet[] newSweets = new Sweet[sweets.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, insertAt);
+            System.arraycopy(sweets, 0, newSweets, 0, insertAt);
+            newIds[insertAt] = sweet.getId();
+            newSweets[insertAt] = sweet;
+            System.arraycopy(ids, insertAt, newIds, insertAt + 1, ids.length - insertAt);
+            System.arraycopy(sweets, insertAt, newSweets, insertAt + 1, sweets.length - insertAt);
+            return new Snapshot(newIds, newSweets, loadedAtNanos);
+        }
+
+        Snapshot without(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            long[] newIds = new long[ids.length - 1];
+            Sweet[] newSweets = new Sweet[sweets.length - 1];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(sweets, 0, newSweets, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+            System.arraycopy(sweets, index + 1, newSweets, index, sweets.length - index - 1);
+            return new Snapshot(newIds, newSweets, loadedAtNanos);
+        }
+    }
+}
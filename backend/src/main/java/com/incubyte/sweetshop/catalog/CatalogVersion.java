@@ -0,0 +1,56 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * A counter bumped after every committed catalog change, used as the
+ * validator for conditional GETs. Validators are read before any catalog
+ * data, and the counter moves only after commit and after every in-memory
+ * view has applied the change (views listen with {@link #VIEW_ORDER}, this
+ * class last), so a response is never tagged newer than the data it
+ * carries. The startup time is part of the ETag so counters from a previous
+ * run can never match.
+ */
+@Component
+public class CatalogVersion {
+
+    /** Listener order for in-memory catalog views; they must run before the version moves. */
+    public static final int VIEW_ORDER = 0;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long version;
+    private volatile Stamp current = new Stamp(etag(0), System.currentTimeMillis());
+
+    public Stamp current() {
+        return current;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        bump();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        bump();
+    }
+
+    private synchronized void bump() {
+        version++;
+        current = new Stamp(etag(version), System.currentTimeMillis());
+    }
+
+    private String etag(long value) {
+        return "\"" + epoch + "-" + value + "\"";
+    }
+
+    public record Stamp(String etag, long lastModified) {
+    }
+}
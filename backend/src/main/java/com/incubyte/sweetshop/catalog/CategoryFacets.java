@@ -0,0 +1,240 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.incubyte.sweetshop.dto.CategoryFacet;
+import com.incubyte.sweetshop.dto.SweetView;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-category count, stock total and price range, kept up to date from the
+ * committed {@link SweetChangedEvent}s instead of a GROUP BY per request. The
+ * last seen state of every sweet is kept so an update can take back its old
+ * contribution; events older than that state (by {@code version}) are dropped.
+ * A full rebuild from the database runs at startup, after bulk changes and
+ * periodically, and replays the events that arrive while it reads.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryFacets {
+
+    private final SweetRepository sweetRepository;
+
+    @Value("${sweets.facets.enabled:true}")
+    private boolean enabled = true;
+
+    // Not monitors: the commit-time listeners must not pin a virtual thread's carrier while they wait
+    private final Lock rebuildLock = new ReentrantLock();
+    private final Lock lock = new ReentrantLock();
+    private Map<Long, Item> items;
+    private TreeMap<String, Totals> totals;
+    // Non-null while a rebuild is reading the database
+    private List<SweetChangedEvent> pending;
+    private volatile List<CategoryFacet> view;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${sweets.facets.rebuild-interval-ms:300000}",
+               initialDelayString = "${sweets.facets.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            lock.lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            List<SweetView> sweets;
+            try {
+                sweets = sweetRepository.findViewsByOrderByIdAsc();
+            } catch (RuntimeException e) {
+                // Keep maintaining the current facets incrementally
+                log.warn("Category facets rebuild failed", e);
+                lock.lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            Map<Long, Item> loadedItems = new HashMap<>(sweets.size() * 2);
+            TreeMap<String, Totals> loadedTotals = new TreeMap<>();
+            for (SweetView sweet : sweets) {
+                add(loadedItems, loadedTotals, sweet.id(),
+                        new Item(sweet.category(), sweet.price(), sweet.quantity(), sweet.version()));
+            }
+            lock.lock();
+            try {
+                for (SweetChangedEvent event : pending) {
+                    apply(loadedItems, loadedTotals, event);
+                }
+                items = loadedItems;
+                totals = loadedTotals;
+                pending = null;
+                view = null;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        if (event.isStockOnly() && applyStockDeltas(event.getStockDeltas())) {
+            return;
+        }
+        rebuild();
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (items != null) {
+                apply(items, totals, event);
+                view = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // False while a rebuild is reading, since its snapshot may or may not include the deltas
+    private boolean applyStockDeltas(Map<Long, Integer> stockDeltas) {
+        lock.lock();
+        try {
+            if (items == null || pending != null) {
+                return false;
+            }
+            stockDeltas.forEach((id, delta) -> {
+                Item previous = items.get(id);
+                if (previous != null) {
+                    remove(items, totals, id, previous);
+                    // The bulk UPDATE bumps the row version once
+                    add(items, totals, id, new Item(previous.category, previous.price, previous.quantity + delta,
+                            previous.version == null ? null : previous.version + 1));
+                }
+            });
+            view = null;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the facets sorted by category, or empty when disabled or not built yet. */
+    public Optional<List<CategoryFacet>> facets() {
+        List<CategoryFacet> current = view;
+        if (current != null) {
+            return Optional.of(current);
+        }
+        lock.lock();
+        try {
+            if (!enabled || totals == null) {
+                return Optional.empty();
+            }
+            if (view == null) {
+                List<CategoryFacet> facets = new ArrayList<>(totals.size());
+                totals.forEach((category, t) -> facets.add(t.toFacet(category)));
+                view = List.copyOf(facets);
+            }
+            return Optional.of(view);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void apply(Map<Long, Item> items, TreeMap<String, Totals> totals, SweetChangedEvent event) {
+        Sweet sweet = event.getSweet();
+        Item previous = items.get(sweet.getId());
+        if (previous != null && isOlder(sweet.getVersion(), previous.version)) {
+            return;
+        }
+        if (previous != null) {
+            remove(items, totals, sweet.getId(), previous);
+        }
+        if (event.getType() != SweetChangedEvent.ChangeType.DELETED) {
+            add(items, totals, sweet.getId(),
+                    new Item(sweet.getCategory(), sweet.getPrice(), sweet.getQuantity(), sweet.getVersion()));
+        }
+    }
+
+    private static boolean isOlder(Long version, Long than) {
+        return version != null && than != null && version < than;
+    }
+
+    private static void add(Map<Long, Item> items, TreeMap<String, Totals> totals, Long id, Item item) {
+        items.put(id, item);
+        totals.computeIfAbsent(item.category, category -> new Totals()).add(item);
+    }
+
+    private static void remove(Map<Long, Item> items, TreeMap<String, Totals> totals, Long id, Item item) {
+        items.remove(id);
+        Totals t = totals.get(item.category);
+        t.remove(item);
+        if (t.count == 0) {
+            totals.remove(item.category);
+        }
+    }
+
+    private record Item(String category, BigDecimal price, int quantity, Long version) {
+    }
+
+    private static final class Totals {
+        private long count;
+        private long stock;
+        // Price multiset, so the min and max survive removing one of several equal prices
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+
+        void add(Item item) {
+            count++;
+            stock += item.quantity;
+            prices.merge(item.price, 1, Integer::sum);
+        }
+
+        void remove(Item item) {
+            count--;
+            stock -= item.quantity;
+            prices.computeIfPresent(item.price, (price, n) -> n == 1 ? null : n - 1);
+        }
+
+        CategoryFacet toFacet(String category) {
+            return new CategoryFacet(category, count, stock, prices.firstKey(), prices.lastKey());
+        }
+    }
+}
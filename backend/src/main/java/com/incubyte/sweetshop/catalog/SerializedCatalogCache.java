@@ -0,0 +1,69 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * JSON bytes of catalog list pages, kept for one {@link CatalogVersion}
+ * ETag. Repeated polls of an unchanged catalog are written straight from
+ * the cached array; the first request after a change replaces the whole
+ * generation. Each generation holds at most {@code max-pages} entries,
+ * beyond which responses are serialized without being cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class SerializedCatalogCache {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${sweets.list.serialized-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${sweets.list.serialized-cache.max-pages:64}")
+    private int maxPages = 64;
+
+    private volatile Generation generation = new Generation("");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns the cached JSON for {@code key} under {@code etag}, serializing {@code body} on a miss. */
+    public byte[] get(String etag, String key, Supplier<?> body) {
+        Generation current = generation;
+        if (!current.etag.equals(etag)) {
+            current = new Generation(etag);
+            generation = current;
+        }
+        byte[] cached = current.pages.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] json = serialize(body.get());
+        if (current.pages.size() < maxPages) {
+            current.pages.putIfAbsent(key, json);
+        }
+        return json;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog page", e);
+        }
+    }
+
+    private record Generation(String etag, Map<String, byte[]> pages) {
+        Generation(String etag) {
+            this(etag, new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of single sweets by id (Caffeine, W-TinyLFU eviction)
+ * for the reads the {@link CatalogReplica} cannot answer: replica disabled,
+ * stale or still loading. Entries are dropped after commit by every change
+ * event. A load racing an invalidation cannot leave a stale entry behind:
+ * Caffeine makes the invalidation wait for the in-flight load and then
+ * removes its result. Cached instances are shared and must not be modified.
+ */
+@Component
+public class SweetNearCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Sweet> cache;
+
+    public SweetNearCache(
+            MeterRegistry meterRegistry,
+            @Value("${sweets.cache.enabled:true}") boolean enabled,
+            @Value("${sweets.cache.max-size:10000}") long maxSize,
+            @Value("${sweets.cache.expire-after-write-ms:60000}") long expireAfterWriteMs
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sweets.by-id");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of lookups answered from the cache")
+                .tag("cache", "sweets.by-id")
+                .register(meterRegistry);
+    }
+
+    public Sweet get(Long id, Function<Long, Sweet> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return cache.get(id, key -> copy(loader.apply(key)));
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        cache.invalidate(event.getSweet().getId());
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    // Detached from any persistence context the loader may have run in
+    private static Sweet copy(Sweet sweet) {
+        return new Sweet(sweet.getId(), sweet.getName(), sweet.getCategory(), sweet.getPrice(), sweet.getQuantity(),
+                sweet.getVersion());
+    }
+}
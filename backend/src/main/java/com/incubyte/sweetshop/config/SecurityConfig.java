@@ -1,9 +1,16 @@
 package com.incubyte.sweetshop.config;
 
+import com.incubyte.sweetshop.ratelimit.RateLimitFilter;
+import com.incubyte.sweetshop.security.BCryptCalibration;
+import com.incubyte.sweetshop.security.BoundedPasswordEncoder;
 import com.incubyte.sweetshop.security.JwtAuthenticationFilter;
+import com.incubyte.sweetshop.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -12,6 +19,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,7 +39,28 @@ import java.util.List;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.password.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${auth.password.bcrypt.target-ms:100}")
+    private long bcryptTargetMs;
+
+    @Value("${auth.password.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${auth.password.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${auth.password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${auth.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -40,17 +69,23 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/sweets").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/api/sweets/search").hasAnyRole("USER", "ADMIN")
-                .requestMatchers("/api/sweets/**/purchase").hasAnyRole("USER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/sweets/facets").hasAnyRole("USER", "ADMIN")
+                .requestMatchers("/api/sweets/*/purchase").hasAnyRole("USER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/sweets/{id:\\d+}").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/api/sweets/**").hasRole("ADMIN")
+                .requestMatchers("/api/orders").hasAnyRole("USER", "ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -60,12 +95,23 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes a user's password on login when its BCrypt cost differs from the current one
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
         return provider;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptCalibration.calibrate(bcryptTargetMs, bcryptMinStrength, bcryptMaxStrength);
+        // Leave at least half the cores for everything else
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(
+                new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry),
+                strength, threads, hashingQueueCapacity, meterRegistry);
     }
 
     @Bean
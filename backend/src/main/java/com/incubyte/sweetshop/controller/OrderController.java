@@ -0,0 +1,23 @@
+package com.incubyte.sweetshop.controller;
+
+import com.incubyte.sweetshop.dto.OrderRequest;
+import com.incubyte.sweetshop.dto.OrderResponse;
+import com.incubyte.sweetshop.service.SweetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final SweetService sweetService;
+
+    @PostMapping
+    public ResponseEntity<OrderResponse> checkout(@Valid @RequestBody OrderRequest request) {
+        OrderResponse response = sweetService.checkout(request);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,17 +1,36 @@
 package com.incubyte.sweetshop.controller;
 
+import com.incubyte.sweetshop.catalog.CatalogVersion;
+import com.incubyte.sweetshop.catalog.SerializedCatalogCache;
+import com.incubyte.sweetshop.dto.BulkRestockRequest;
+import com.incubyte.sweetshop.dto.BulkUpdateResponse;
+import com.incubyte.sweetshop.dto.CategoryFacet;
+import com.incubyte.sweetshop.dto.CursorPage;
+import com.incubyte.sweetshop.dto.ImportResponse;
+import com.incubyte.sweetshop.dto.PriceAdjustmentRequest;
 import com.incubyte.sweetshop.dto.SearchRequest;
 import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.dto.SweetView;
 import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.service.SweetExportService;
+import com.incubyte.sweetshop.service.SweetImportService;
 import com.incubyte.sweetshop.service.SweetService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/sweets")
@@ -19,17 +38,73 @@ import java.util.Map;
 public class SweetController {
 
     private final SweetService sweetService;
+    private final SweetExportService sweetExportService;
+    private final SweetImportService sweetImportService;
+    private final CatalogVersion catalogVersion;
+    private final SerializedCatalogCache serializedCatalogCache;
 
     @GetMapping
-    public ResponseEntity<List<Sweet>> getAllSweets() {
-        List<Sweet> sweets = sweetService.getAllSweets();
-        return ResponseEntity.ok(sweets);
+    public ResponseEntity<?> getAllSweets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest
+    ) {
+        CatalogVersion.Stamp stamp = catalogVersion.current();
+        if (webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        if (serializedCatalogCache.isEnabled()) {
+            byte[] json = serializedCatalogCache.get(stamp.etag(), cursor + "|" + limit,
+                    () -> sweetService.getAllSweets(cursor, limit));
+            return validated(stamp).contentType(MediaType.APPLICATION_JSON).body(json);
+        }
+        return validated(stamp).body(sweetService.getAllSweets(cursor, limit));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Sweet>> searchSweets(@ModelAttribute SearchRequest searchRequest) {
-        List<Sweet> sweets = sweetService.searchSweets(searchRequest);
-        return ResponseEntity.ok(sweets);
+    public ResponseEntity<CursorPage<SweetView>> searchSweets(
+            @ModelAttribute SearchRequest searchRequest,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest
+    ) {
+        return conditional(webRequest, () -> sweetService.searchSweets(searchRequest, cursor, limit));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<List<CategoryFacet>> getCategoryFacets(WebRequest webRequest) {
+        return conditional(webRequest, sweetService::getCategoryFacets);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Sweet> getSweet(@PathVariable Long id, WebRequest webRequest) {
+        return conditional(webRequest, () -> sweetService.getSweetById(id));
+    }
+
+    @GetMapping("/export")
+    public void exportSweets(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sweets.csv\"");
+            sweetExportService.exportCsv(response.getOutputStream());
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            response.setContentType("application/x-ndjson");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sweets.ndjson\"");
+            sweetExportService.exportNdjson(response.getOutputStream());
+        } else {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResponse> importSweets(HttpServletRequest request) throws IOException {
+        ImportResponse response = request.getContentType().startsWith("text/csv")
+                ? sweetImportService.importCsv(request.getInputStream())
+                : sweetImportService.importNdjson(request.getInputStream());
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping
@@ -59,6 +134,26 @@ public class SweetController {
         return ResponseEntity.ok(sweet);
     }
 
+    @PostMapping("/restock")
+    public ResponseEntity<BulkUpdateResponse> restockSweets(@Valid @RequestBody BulkRestockRequest request) {
+        return ResponseEntity.ok(sweetService.restockSweets(request));
+    }
+
+    @PostMapping("/price-adjustments")
+    public ResponseEntity<BulkUpdateResponse> adjustPrices(@Valid @RequestBody PriceAdjustmentRequest request) {
+        return ResponseEntity.ok(sweetService.adjustPrices(request));
+    }
+
+    @PostMapping("/{id}/flash-sale")
+    public ResponseEntity<Sweet> startFlashSale(@PathVariable Long id) {
+        return ResponseEntity.ok(sweetService.startFlashSale(id));
+    }
+
+    @DeleteMapping("/{id}/flash-sale")
+    public ResponseEntity<Sweet> endFlashSale(@PathVariable Long id) {
+        return ResponseEntity.ok(sweetService.endFlashSale(id));
+    }
+
     @PostMapping("/{id}/restock")
     public ResponseEntity<Sweet> restockSweet(
             @PathVariable Long id,
@@ -71,5 +166,25 @@ public class SweetController {
         Sweet sweet = sweetService.restockSweet(id, quantity);
         return ResponseEntity.ok(sweet);
     }
+
+    /**
+     * Answers a matching {@code If-None-Match} / {@code If-Modified-Since} with
+     * 304 straight from the catalog version, before {@code body} runs: no
+     * database read and no serialization.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, Supplier<T> body) {
+        CatalogVersion.Stamp stamp = catalogVersion.current();
+        if (webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        return validated(stamp).body(body.get());
+    }
+
+    private ResponseEntity.BodyBuilder validated(CatalogVersion.Stamp stamp) {
+        return ResponseEntity.ok()
+                .eTag(stamp.etag())
+                .lastModified(stamp.lastModified())
+                .cacheControl(CacheControl.noCache().cachePrivate());
+    }
 }
 
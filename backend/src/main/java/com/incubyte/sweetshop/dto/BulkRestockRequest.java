@@ -0,0 +1,18 @@
+package com.incubyte.sweetshop.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRestockRequest {
+    @NotEmpty(message = "Restock must contain at least one item")
+    @Valid
+    private List<OrderItemRequest> items;
+}
@@ -0,0 +1,12 @@
+package com.incubyte.sweetshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    private int affectedRows;
+}
@@ -0,0 +1,10 @@
+package com.incubyte.sweetshop.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One entry of the category menu: how many sweets a category holds, their
+ * combined stock and the price range.
+ */
+public record CategoryFacet(String category, long count, long totalStock, BigDecimal minPrice, BigDecimal maxPrice) {
+}
@@ -0,0 +1,15 @@
+package com.incubyte.sweetshop.dto;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderResponse {
+    private List<Sweet> sweets;
+    private BigDecimal totalPrice;
+}
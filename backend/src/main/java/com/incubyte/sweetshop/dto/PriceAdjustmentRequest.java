@@ -0,0 +1,23 @@
+package com.incubyte.sweetshop.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAdjustmentRequest {
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    /** Relative change in percent: 5 raises prices by 5%, -10 lowers them by 10%. */
+    @NotNull(message = "Percent is required")
+    @DecimalMin(value = "-100", inclusive = false, message = "Percent must be greater than -100")
+    private BigDecimal percent;
+}
@@ -10,5 +10,7 @@ public class SearchRequest {
     private String category;
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
+    /** {@code price} or {@code -price} to order by price (ascending or descending); id order otherwise. */
+    private String sort;
 }
 
@@ -22,5 +22,8 @@ public class SweetRequest {
     @NotNull(message = "Quantity is required")
     @Min(value = 0, message = "Quantity cannot be negative")
     private Integer quantity;
+
+    /** Version the client last read; when set, an update of a newer row is rejected with 409. */
+    private Long version;
 }
 
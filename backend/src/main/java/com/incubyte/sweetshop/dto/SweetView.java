@@ -0,0 +1,18 @@
+package com.incubyte.sweetshop.dto;
+
+import com.incubyte.sweetshop.entity.Sweet;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only row for list and search responses. Filled by constructor
+ * expressions in {@code SweetRepository} or copied from replica entries, so
+ * Jackson only ever sees plain immutable values, never a managed entity.
+ */
+public record SweetView(Long id, String name, String category, BigDecimal price, Integer quantity, Long version) {
+
+    public static SweetView from(Sweet sweet) {
+        return new SweetView(sweet.getId(), sweet.getName(), sweet.getCategory(), sweet.getPrice(),
+                sweet.getQuantity(), sweet.getVersion());
+    }
+}
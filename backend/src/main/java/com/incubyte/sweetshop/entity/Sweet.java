@@ -16,8 +16,10 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Sweet {
+    // Pooled sequence: Hibernate reserves 50 ids per round trip, which keeps JDBC insert batching on
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sweets_seq")
+    @SequenceGenerator(name = "sweets_seq", sequenceName = "sweets_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -37,5 +39,13 @@ public class Sweet {
     @Min(value = 0, message = "Quantity cannot be negative")
     @Column(nullable = false)
     private Integer quantity;
+
+    // Bumped by every write, including the set-based UPDATEs in SweetRepository
+    @Version
+    private Long version;
+
+    public Sweet(Long id, String name, String category, BigDecimal price, Integer quantity) {
+        this(id, name, category, price, quantity, null);
+    }
 }
 
@@ -0,0 +1,30 @@
+package com.incubyte.sweetshop.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Published after a set-based write that touched many rows at once (bulk
+ * import, bulk updates). Instead of one {@link SweetChangedEvent} per row,
+ * listeners rebuild their in-memory views from the database once. A
+ * stock-only change carries the quantity added per sweet id, so views that
+ * do not track stock can skip the rebuild and the others can apply it in place.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogBulkChangedEvent {
+    private String operation;
+    private int affectedRows;
+    // Non-null only when nothing but quantities changed
+    private Map<Long, Integer> stockDeltas;
+
+    public CatalogBulkChangedEvent(String operation, int affectedRows) {
+        this(operation, affectedRows, null);
+    }
+
+    public boolean isStockOnly() {
+        return stockDeltas != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.incubyte.sweetshop.event;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by {@code SweetService} for every catalog mutation. Listeners that
+ * keep in-memory views of the catalog consume it after the transaction commits.
+ * For {@link ChangeType#DELETED} the sweet is the last state before removal.
+ */
+@Data
+@AllArgsConstructor
+public class SweetChangedEvent {
+    private ChangeType type;
+    private Sweet sweet;
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, STOCK_CHANGED
+    }
+}
@@ -0,0 +1,12 @@
+package com.incubyte.sweetshop.exception;
+
+/**
+ * Thrown when a write collides with existing data (e.g. a unique key);
+ * mapped to 409.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
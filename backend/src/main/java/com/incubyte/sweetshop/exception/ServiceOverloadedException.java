@@ -0,0 +1,12 @@
+package com.incubyte.sweetshop.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request should be
+ * retried later; mapped to 503 with a {@code Retry-After} header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,296 @@
+package com.incubyte.sweetshop.flashsale;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.exception.ServiceOverloadedException;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flash-sale ("hot item") mode. While a sweet is hot its purchases and
+ * restocks go to a {@link StripedStockCounter} instead of the {@code sweets}
+ * row, and a write-behind task periodically subtracts the aggregated units
+ * sold from the row. The row stays the source of truth for everything else;
+ * it only lags the counter by one flush interval.
+ *
+ * <p>Entering locks the row, so a database purchase already in flight either
+ * commits before the counter reads the stock or, by re-checking
+ * {@link #isHot(Long)} after its UPDATE, rolls back and fails with a
+ * {@link ConflictException} (409), which the client can simply resend. Leaving
+ * closes the counter, flushes the final delta and only then hands the sweet
+ * back to the database path. Deltas not yet flushed are lost if the process
+ * dies, which can only make the row show fewer sales than happened; a clean
+ * shutdown flushes them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlashSaleStock {
+
+    public enum TakeResult { NOT_HOT, TAKEN, OUT_OF_STOCK }
+
+    private final SweetRepository sweetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, HotItem> items = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 0 means two stripes per core
+    @Value("${sweets.flash-sale.stripes:0}")
+    private int stripes = 0;
+
+    @Value("${sweets.flash-sale.transition-wait-ms:2000}")
+    private long transitionWaitMs = 2000;
+
+    public boolean isHot(Long id) {
+        return items.containsKey(id);
+    }
+
+    /** Moves the sweet's stock into an in-memory counter. */
+    public void enter(Long id) {
+        HotItem item = new HotItem();
+        if (items.putIfAbsent(id, item) != null) {
+            throw new ConflictException("Sweet is already in flash-sale mode");
+        }
+        try {
+            // Registered before the row lock is taken; see the class comment
+            Integer quantity = transactionTemplate.execute(status -> sweetRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Sweet not found with id: " + id))
+                    .getQuantity());
+            int stripeCount = stripes > 0 ? stripes : 2 * Runtime.getRuntime().availableProcessors();
+            item.open(new StripedStockCounter(stripeCount, quantity));
+        } catch (RuntimeException e) {
+            items.remove(id, item);
+            item.abort();
+            throw e;
+        }
+    }
+
+    /** Closes the counter, writes the outstanding delta back and returns the sweet to the database path. */
+    public void leave(Long id) {
+        HotItem item = items.get(id);
+        if (item == null) {
+            throw new RuntimeException("Sweet is not in flash-sale mode");
+        }
+        StripedStockCounter counter = item.awaitOpen(transitionWaitMs);
+        if (counter == null) {
+            return;
+        }
+        counter.close();
+        if (!flush(id, item, counter)) {
+            throw new ServiceOverloadedException("Flash-sale stock could not be written back; will retry");
+        }
+    }
+
+    /**
+     * Takes {@code amount} units from the counter if the sweet is hot. Inside
+     * a transaction the units are put back if it does not commit.
+     */
+    public TakeResult take(Long id, int amount) {
+        while (true) {
+            HotItem item = items.get(id);
+            if (item == null) {
+                return TakeResult.NOT_HOT;
+            }
+            StripedStockCounter counter = item.awaitOpen(transitionWaitMs);
+            if (counter == null) {
+                continue;
+            }
+            switch (counter.tryTake(amount)) {
+                case TAKEN -> {
+                    returnOnRollback(counter, amount);
+                    return TakeResult.TAKEN;
+                }
+                case OUT_OF_STOCK -> {
+                    return TakeResult.OUT_OF_STOCK;
+                }
+                case CLOSED -> item.awaitLeft(transitionWaitMs);
+            }
+        }
+    }
+
+    /** Adds stock to the counter if the sweet is hot; returns false when the caller must update the row. */
+    public boolean restock(Long id, int amount) {
+        while (true) {
+            HotItem item = items.get(id);
+            if (item == null) {
+                return false;
+            }
+            StripedStockCounter counter = item.awaitOpen(transitionWaitMs);
+            if (counter == null) {
+                continue;
+            }
+            if (counter.add(amount)) {
+                return true;
+            }
+            item.awaitLeft(transitionWaitMs);
+        }
+    }
+
+    /**
+     * Like {@link #restock} for a caller inside a transaction, but the units
+     * reach the counter only once it commits, so a rolled-back restock is
+     * never sold. Returns false when the sweet is not hot and the caller must
+     * update the row; if it leaves flash-sale mode before the commit, the
+     * units are written to the row then.
+     */
+    public boolean restockAfterCommit(Long id, int amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return restock(id, amount);
+        }
+        if (!isHot(id)) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    if (!restock(id, amount)) {
+                        addToRow(id, amount);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Flash-sale restock of {} units failed for sweet {}", amount, id, e);
+                }
+            }
+        });
+        return true;
+    }
+
+    /** Returns a copy of {@code sweet} showing the live counter stock when it is hot. */
+    public Sweet withLiveQuantity(Sweet sweet) {
+        HotItem item = items.get(sweet.getId());
+        StripedStockCounter counter = item == null ? null : item.counter;
+        if (counter == null) {
+            return sweet;
+        }
+        return new Sweet(sweet.getId(), sweet.getName(), sweet.getCategory(), sweet.getPrice(), counter.available(),
+                sweet.getVersion());
+    }
+
+    @Scheduled(fixedDelayString = "${sweets.flash-sale.flush-interval-ms:200}")
+    public void flushAll() {
+        items.forEach((id, item) -> {
+            StripedStockCounter counter = item.counter;
+            if (counter != null) {
+                flush(id, item, counter);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        items.forEach((id, item) -> {
+            StripedStockCounter counter = item.counter;
+            if (counter != null) {
+                counter.close();
+                flush(id, item, counter);
+            }
+        });
+    }
+
+    private boolean flush(Long id, HotItem item, StripedStockCounter counter) {
+        flushLock.lock();
+        try {
+            long units = counter.unflushed();
+            if (units != 0) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    sweetRepository.subtractStock(id, (int) units);
+                    sweetRepository.findById(id).ifPresent(sweet ->
+                            eventPublisher.publishEvent(new SweetChangedEvent(SweetChangedEvent.ChangeType.STOCK_CHANGED, sweet)));
+                });
+                counter.markFlushed(units);
+            }
+            if (counter.isClosed() && items.remove(id, item)) {
+                item.left.countDown();
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Flash-sale stock flush failed for sweet {}", id, e);
+            return false;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Runs after the caller's commit, so it needs a transaction of its own
+    private void addToRow(Long id, int amount) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        requiresNew.executeWithoutResult(status -> {
+            sweetRepository.incrementStockBatch(new TreeMap<>(Map.of(id, amount)));
+            sweetRepository.findById(id).ifPresent(sweet ->
+                    eventPublisher.publishEvent(new SweetChangedEvent(SweetChangedEvent.ChangeType.STOCK_CHANGED, sweet)));
+        });
+    }
+
+    private void returnOnRollback(StripedStockCounter counter, int amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // A closed counter has already flushed these units as sold: the row undercounts, never oversells
+                if (status != STATUS_COMMITTED) {
+                    counter.add(amount);
+                }
+            }
+        });
+    }
+
+    private static final class HotItem {
+        private final CountDownLatch ready = new CountDownLatch(1);
+        private final CountDownLatch left = new CountDownLatch(1);
+        private volatile StripedStockCounter counter;
+
+        void open(StripedStockCounter counter) {
+            this.counter = counter;
+            ready.countDown();
+        }
+
+        void abort() {
+            ready.countDown();
+            left.countDown();
+        }
+
+        /** Waits for the entry transition; null if it was aborted and the item is gone. */
+        StripedStockCounter awaitOpen(long timeoutMs) {
+            await(ready, timeoutMs);
+            return counter;
+        }
+
+        void awaitLeft(long timeoutMs) {
+            await(left, timeoutMs);
+        }
+
+        private static void await(CountDownLatch latch, long timeoutMs) {
+            try {
+                if (!latch.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new ServiceOverloadedException("Flash-sale mode is changing; please retry");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceOverloadedException("Interrupted while waiting for flash-sale mode");
+            }
+        }
+    }
+}
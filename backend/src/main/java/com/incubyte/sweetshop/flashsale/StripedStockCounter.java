@@ -0,0 +1,165 @@
+package com.incubyte.sweetshop.flashsale;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock for one sweet split across several independently updated stripes, so
+ * concurrent purchases CAS different cache lines instead of one hot value.
+ * A purchase takes units from a single stripe; when no stripe holds enough on
+ * its own, the slow path drains every stripe under a lock, serves the request
+ * from the total and spreads the remainder back. Units are only ever moved
+ * between stripes, never duplicated, so the counter cannot oversell.
+ *
+ * <p>The counter also remembers how much stock the database row last
+ * reflected; {@link #unflushed()} is the number of units sold since (negative
+ * after restocks), which the caller writes back and confirms with
+ * {@link #markFlushed(long)}.
+ */
+public class StripedStockCounter {
+
+    public enum Result { TAKEN, OUT_OF_STOCK, CLOSED }
+
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final Stripe[] stripes;
+    // ReentrantLock rather than synchronized: virtual threads must not pin their carrier here
+    private final ReentrantLock lock = new ReentrantLock();
+    private long flushed;
+    private volatile int closedAvailable = -1;
+
+    public StripedStockCounter(int stripeCount, int initial) {
+        stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        spread(initial);
+        flushed = initial;
+    }
+
+    public Result tryTake(int amount) {
+        int start = ThreadLocalRandom.current().nextInt(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(start + i) % stripes.length];
+            int current;
+            while ((current = stripe.get()) >= amount) {
+                if (stripe.compareAndSet(current, current - amount)) {
+                    return Result.TAKEN;
+                }
+            }
+            if (current == CLOSED) {
+                return Result.CLOSED;
+            }
+        }
+        return rebalanceAndTake(amount);
+    }
+
+    /** Adds units (a restock or a rolled-back purchase). Returns false once the counter is closed. */
+    public boolean add(int amount) {
+        lock.lock();
+        try {
+            if (closedAvailable >= 0) {
+                return false;
+            }
+            spread(amount);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Units currently available; a snapshot while purchases are in flight. */
+    public int available() {
+        if (closedAvailable >= 0) {
+            return closedAvailable;
+        }
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += Math.max(0, stripe.get());
+        }
+        return total;
+    }
+
+    /**
+     * Units sold since the last confirmed flush. Taken under the lock so no
+     * rebalance moves units between the stripes while they are summed.
+     */
+    public long unflushed() {
+        lock.lock();
+        try {
+            return flushed - (closedAvailable >= 0 ? closedAvailable : available());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markFlushed(long units) {
+        lock.lock();
+        try {
+            flushed -= units;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stops all further takes and adds; the remaining stock becomes fixed. */
+    public void close() {
+        lock.lock();
+        try {
+            if (closedAvailable >= 0) {
+                return;
+            }
+            int total = 0;
+            for (Stripe stripe : stripes) {
+                total += stripe.getAndSet(CLOSED);
+            }
+            closedAvailable = total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        return closedAvailable >= 0;
+    }
+
+    private Result rebalanceAndTake(int amount) {
+        lock.lock();
+        try {
+            if (closedAvailable >= 0) {
+                return Result.CLOSED;
+            }
+            int total = 0;
+            for (Stripe stripe : stripes) {
+                total += stripe.getAndSet(0);
+            }
+            Result result = Result.OUT_OF_STOCK;
+            if (total >= amount) {
+                total -= amount;
+                result = Result.TAKEN;
+            }
+            spread(total);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void spread(int units) {
+        int share = units / stripes.length;
+        int remainder = units % stripes.length;
+        for (int i = 0; i < stripes.length; i++) {
+            int add = share + (i < remainder ? 1 : 0);
+            if (add > 0) {
+                stripes[i].addAndGet(add);
+            }
+        }
+    }
+
+    /** An {@link AtomicInteger} padded past a cache line so neighbouring stripes do not false-share. */
+    @SuppressWarnings("unused")
+    private static final class Stripe extends AtomicInteger {
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
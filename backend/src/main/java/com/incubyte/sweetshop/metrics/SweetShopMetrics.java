@@ -0,0 +1,106 @@
+package com.incubyte.sweetshop.metrics;
+
+import com.incubyte.sweetshop.catalog.CatalogReplica;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Business counters and gauges for the shop. Request timings come from
+ * Spring Boot's {@code http.server.requests}; JWT parsing and password
+ * hashing are timed where they happen.
+ */
+@Component
+public class SweetShopMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final SweetRepository sweetRepository;
+    private final CatalogReplica catalogReplica;
+    private final Counter purchases;
+    private final Counter purchasedUnits;
+    private final Counter outOfStock;
+    private final Counter failedLogins;
+    private final MultiGauge stockByCategory;
+
+    public SweetShopMetrics(MeterRegistry meterRegistry, SweetRepository sweetRepository, CatalogReplica catalogReplica) {
+        this.meterRegistry = meterRegistry;
+        this.sweetRepository = sweetRepository;
+        this.catalogReplica = catalogReplica;
+        this.purchases = Counter.builder("sweets.purchases")
+                .description("Successful purchases, counting each checkout as one")
+                .register(meterRegistry);
+        this.purchasedUnits = Counter.builder("sweets.purchased.units")
+                .description("Units taken out of stock by purchases")
+                .register(meterRegistry);
+        this.outOfStock = Counter.builder("sweets.purchases.out.of.stock")
+                .description("Purchases rejected for insufficient stock")
+                .register(meterRegistry);
+        this.failedLogins = Counter.builder("auth.logins.failed")
+                .description("Login attempts rejected by the authentication manager")
+                .register(meterRegistry);
+        this.stockByCategory = MultiGauge.builder("sweets.stock")
+                .description("Units in stock per category")
+                .baseUnit("units")
+                .register(meterRegistry);
+        FunctionCounter.builder("sweets.replica.reads", catalogReplica, CatalogReplica::getHits)
+                .description("Catalog reads answered by the in-memory replica")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("sweets.replica.reads", catalogReplica, CatalogReplica::getMisses)
+                .description("Catalog reads answered by the in-memory replica")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public void recordPurchase(int units) {
+        purchases.increment();
+        purchasedUnits.increment(units);
+    }
+
+    public void recordOutOfStock() {
+        outOfStock.increment();
+    }
+
+    public void recordFailedLogin() {
+        failedLogins.increment();
+    }
+
+    /** An optimistic-lock conflict; {@code exhausted} when no retries were left and the client got 409. */
+    public void recordOptimisticConflict(String operation, boolean exhausted) {
+        Counter.builder("sweets.optimistic.conflicts")
+                .description("Writes that lost an optimistic-lock race")
+                .tag("operation", operation)
+                .tag("outcome", exhausted ? "exhausted" : "retried")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Scheduled(fixedDelayString = "${sweets.metrics.stock-refresh-ms:15000}")
+    public void refreshStockByCategory() {
+        Map<String, Long> totals = new HashMap<>();
+        Optional<List<Sweet>> sweets = catalogReplica.peekAll();
+        if (sweets.isPresent()) {
+            for (Sweet sweet : sweets.get()) {
+                totals.merge(sweet.getCategory(), (long) sweet.getQuantity(), Long::sum);
+            }
+        } else {
+            for (Object[] row : sweetRepository.sumQuantityByCategory()) {
+                totals.put((String) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        stockByCategory.register(totals.entrySet().stream()
+                .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(Tags.of("category", entry.getKey()), entry.getValue()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,193 @@
+package com.incubyte.sweetshop.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate-limits the configured routes by client IP and by the {@code username}
+ * in the JSON body before any authentication or password hashing happens.
+ * Rejected requests get 429 with a {@code Retry-After} header.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = new TokenBucketRateLimiter(properties.getMaxKeys(), properties.getIdleEvictionMs());
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || findRoute(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Map.Entry<String, RateLimitProperties.Route> route = findRoute(request);
+        String name = route.getKey();
+        RateLimitProperties.Route limits = route.getValue();
+        HttpServletRequest forwarded = request;
+
+        if (limits.getIp() != null) {
+            long wait = limiter.tryAcquire(name + "|ip|", request.getRemoteAddr(), limits.getIp());
+            if (wait > 0) {
+                reject(response, name, "ip", wait);
+                return;
+            }
+        }
+        if (limits.getUsername() != null) {
+            byte[] body = readBody(request, properties.getMaxBodyBytes());
+            if (body == null) {
+                response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Request body too large"));
+                return;
+            }
+            CachedBodyRequest cached = new CachedBodyRequest(request, body);
+            forwarded = cached;
+            String username = readUsername(cached.body);
+            if (username != null) {
+                long wait = limiter.tryAcquire(name + "|user|", username, limits.getUsername());
+                if (wait > 0) {
+                    reject(response, name, "username", wait);
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        limiter.evictIdle();
+    }
+
+    private Map.Entry<String, RateLimitProperties.Route> findRoute(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitProperties.Route> route : properties.getRoutes().entrySet()) {
+            if (path.equals(route.getValue().getPath())) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Returns null once the body is longer than maxBytes, without buffering the rest of it
+    private static byte[] readBody(HttpServletRequest request, int maxBytes) throws IOException {
+        if (request.getContentLengthLong() > maxBytes) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+        return body.length > maxBytes ? null : body;
+    }
+
+    private String readUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual() ? username.asText().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException | RuntimeException e) {
+            // Malformed bodies are rejected by the controller; only the IP limit applies to them
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String route, String dimension, long waitNanos)
+            throws IOException {
+        Counter.builder("auth.rate.limited")
+                .description("Requests rejected by the auth rate limiter")
+                .tag("route", route)
+                .tag("key", dimension)
+                .register(meterRegistry)
+                .increment();
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Too many requests, please retry later"));
+    }
+
+    /** Buffers the body so it can be inspected here and read again by the controller. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.incubyte.sweetshop.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route token-bucket limits for unauthenticated endpoints, bound from
+ * {@code auth.rate-limit.*}. Each route may limit by client IP, by the
+ * {@code username} field of its JSON body, or both.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on tracked keys; beyond it new keys share one bucket per route and dimension. */
+    private int maxKeys = 100_000;
+
+    /** Buckets untouched for this long are dropped. */
+    private long idleEvictionMs = 600_000;
+
+    /** Largest body buffered to read the username; bigger bodies on limited routes get 413. */
+    private int maxBodyBytes = 8_192;
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private String path;
+        private Limit ip;
+        private Limit username;
+    }
+
+    @Data
+    public static class Limit {
+        private int capacity;
+        private int refillPerMinute;
+    }
+}
@@ -0,0 +1,119 @@
+package com.incubyte.sweetshop.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by arbitrary strings. The map is a {@link ConcurrentHashMap}
+ * (lock-striped per bin) and each bucket guards only its own two fields, so
+ * unrelated keys never contend. Memory is bounded by {@code maxKeys}: idle
+ * buckets are evicted by the scheduled sweep, and at most once per second
+ * inline when the map is full, so a flood of fresh keys cannot force a full
+ * scan per request. While the map is still full, new keys fall back to a
+ * shared overflow bucket for their prefix so a flood of distinct keys is
+ * throttled as a group instead of growing the map.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long INLINE_EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> overflow = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final long idleEvictionNanos;
+    private final LongSupplier clock;
+    private final AtomicLong lastInlineEviction;
+
+    public TokenBucketRateLimiter(int maxKeys, long idleEvictionMs) {
+        this(maxKeys, idleEvictionMs, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int maxKeys, long idleEvictionMs, LongSupplier clock) {
+        this.maxKeys = maxKeys;
+        this.idleEvictionNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        this.clock = clock;
+        this.lastInlineEviction = new AtomicLong(clock.getAsLong() - INLINE_EVICTION_INTERVAL_NANOS);
+    }
+
+    /**
+     * Takes one token for {@code prefix + key}. Returns 0 when allowed, otherwise
+     * the nanoseconds until a token will be available.
+     */
+    public long tryAcquire(String prefix, String key, RateLimitProperties.Limit limit) {
+        long now = clock.getAsLong();
+        String bucketKey = prefix + key;
+        Bucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdleThrottled(now);
+            }
+            bucket = buckets.size() < maxKeys
+                    ? buckets.computeIfAbsent(bucketKey, k -> new Bucket(limit.getCapacity(), now))
+                    : overflow.computeIfAbsent(prefix, k -> new Bucket(limit.getCapacity(), now));
+        }
+        return bucket.tryAcquire(limit, now);
+    }
+
+    public void evictIdle() {
+        evictIdle(clock.getAsLong());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // One caller per interval pays for the scan; everyone else goes straight to the overflow bucket
+    private void evictIdleThrottled(long now) {
+        long last = lastInlineEviction.get();
+        if (now - last >= INLINE_EVICTION_INTERVAL_NANOS && lastInlineEviction.compareAndSet(last, now)) {
+            evictIdle(now);
+        }
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.idleSince(now) >= idleEvictionNanos);
+        overflow.values().removeIf(bucket -> bucket.idleSince(now) >= idleEvictionNanos);
+    }
+
+    private static final class Bucket {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        long tryAcquire(RateLimitProperties.Limit limit, long now) {
+            double perNano = (double) limit.getRefillPerMinute() / NANOS_PER_MINUTE;
+            lock.lock();
+            try {
+                tokens = Math.min(limit.getCapacity(), tokens + (now - lastRefill) * perNano);
+                lastRefill = now;
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return 0;
+                }
+                return perNano > 0 ? (long) Math.ceil((1 - tokens) / perNano) : Long.MAX_VALUE;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long idleSince(long now) {
+            lock.lock();
+            try {
+                return now - lastRefill;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,28 +1,114 @@
 package com.incubyte.sweetshop.repository;
 
+import com.incubyte.sweetshop.dto.CategoryFacet;
+import com.incubyte.sweetshop.dto.SweetView;
 import com.incubyte.sweetshop.entity.Sweet;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface SweetRepository extends JpaRepository<Sweet, Long> {
+public interface SweetRepository extends JpaRepository<Sweet, Long>, SweetRepositoryCustom {
     List<Sweet> findByCategory(String category);
-    
-    @Query("SELECT s FROM Sweet s WHERE " +
+
+    @Query("SELECT s.category, SUM(s.quantity) FROM Sweet s GROUP BY s.category")
+    List<Object[]> sumQuantityByCategory();
+
+    // Only used when the in-memory CategoryFacets are disabled or not loaded yet
+    @Query("SELECT new com.incubyte.sweetshop.dto.CategoryFacet(s.category, COUNT(s), SUM(s.quantity), " +
+           "MIN(s.price), MAX(s.price)) FROM Sweet s GROUP BY s.category ORDER BY s.category")
+    List<CategoryFacet> aggregateByCategory();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sweet s WHERE s.id = :id")
+    Optional<Sweet> findByIdForUpdate(@Param("id") Long id);
+
+    // Record projections: Spring Data selects just these columns and never builds managed entities
+    List<SweetView> findViewsByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<SweetView> findViewsByIdIn(Collection<Long> ids);
+
+    List<SweetView> findViewsByOrderByIdAsc();
+
+    String SEARCH_VIEWS =
+           "SELECT new com.incubyte.sweetshop.dto.SweetView(s.id, s.name, s.category, s.price, s.quantity, s.version) " +
+           "FROM Sweet s WHERE " +
            "(:name IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
            "(:category IS NULL OR LOWER(s.category) LIKE LOWER(CONCAT('%', :category, '%'))) AND " +
            "(:minPrice IS NULL OR s.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR s.price <= :maxPrice)")
-    List<Sweet> searchSweets(
+           "(:maxPrice IS NULL OR s.price <= :maxPrice) AND ";
+
+    @Query(SEARCH_VIEWS + "s.id > :afterId ORDER BY s.id")
+    List<SweetView> searchSweets(
         @Param("name") String name,
         @Param("category") String category,
         @Param("minPrice") BigDecimal minPrice,
-        @Param("maxPrice") BigDecimal maxPrice
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    // Price-ordered search when the in-memory index is not ready; the keyset is (price, id)
+    @Query(SEARCH_VIEWS + "(:afterPrice IS NULL OR s.price > :afterPrice " +
+           "OR (s.price = :afterPrice AND s.id > :afterId)) ORDER BY s.price, s.id")
+    List<SweetView> searchSweetsByPriceAsc(
+        @Param("name") String name,
+        @Param("category") String category,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("afterPrice") BigDecimal afterPrice,
+        @Param("afterId") Long afterId,
+        Limit limit
     );
-}
 
+    @Query(SEARCH_VIEWS + "(:afterPrice IS NULL OR s.price < :afterPrice " +
+           "OR (s.price = :afterPrice AND s.id < :afterId)) ORDER BY s.price DESC, s.id DESC")
+    List<SweetView> searchSweetsByPriceDesc(
+        @Param("name") String name,
+        @Param("category") String category,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("afterPrice") BigDecimal afterPrice,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    /**
+     * Takes {@code amount} units out of stock in a single guarded UPDATE.
+     * Returns the number of affected rows: 0 when the sweet does not exist
+     * or holds fewer than {@code amount} units, 1 otherwise.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE sweets SET quantity = quantity - :amount, version = version + 1 " +
+                   "WHERE id = :id AND quantity >= :amount", nativeQuery = true)
+    int decrementStock(@Param("id") Long id, @Param("amount") int amount);
+
+    /**
+     * Unguarded stock change used by the flash-sale write-behind, whose
+     * counter has already enforced availability. {@code units} may be
+     * negative when restocks outweigh sales.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE sweets SET quantity = quantity - :units, version = version + 1 WHERE id = :id",
+           nativeQuery = true)
+    int subtractStock(@Param("id") Long id, @Param("units") int units);
+
+    /**
+     * Multiplies the price of every sweet in {@code category} by {@code factor},
+     * rounded to cents, in one UPDATE. Returns the number of affected rows.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Sweet s SET s.price = ROUND(s.price * :factor, 2), s.version = s.version + 1 " +
+           "WHERE s.category = :category")
+    int adjustPriceByCategory(@Param("category") String category, @Param("factor") BigDecimal factor);
+}
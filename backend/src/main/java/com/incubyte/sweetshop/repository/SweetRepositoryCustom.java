@@ -0,0 +1,30 @@
+package com.incubyte.sweetshop.repository;
+
+import com.incubyte.sweetshop.entity.Sweet;
+
+import java.util.SortedMap;
+import java.util.stream.Stream;
+
+public interface SweetRepositoryCustom {
+
+    /**
+     * Applies one guarded decrement per entry as a single JDBC batch, in the
+     * iteration order of {@code quantitiesById} so concurrent callers always
+     * lock rows in the same order. Returns the affected row count per entry.
+     */
+    int[] decrementStockBatch(SortedMap<Long, Integer> quantitiesById);
+
+    /**
+     * Adds stock to many sweets with one set-based UPDATE per chunk of ids
+     * rather than one statement per sweet. Returns the number of sweets that
+     * were found and updated.
+     */
+    int incrementStockBatch(SortedMap<Long, Integer> quantitiesById);
+
+    /**
+     * Streams every sweet in id order through a read-only cursor that pulls
+     * {@code fetchSize} rows per round trip. Must be consumed inside a
+     * transaction and closed by the caller.
+     */
+    Stream<Sweet> streamAll(int fetchSize);
+}
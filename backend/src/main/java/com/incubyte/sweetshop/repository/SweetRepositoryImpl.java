@@ -0,0 +1,69 @@
+package com.incubyte.sweetshop.repository;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class SweetRepositoryImpl implements SweetRepositoryCustom {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE sweets SET quantity = quantity - ?, version = version + 1 WHERE id = ? AND quantity >= ?";
+
+    // Three bind parameters per id keeps a chunk well under the driver's parameter limit
+    private static final int INCREMENT_STOCK_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public int[] decrementStockBatch(SortedMap<Long, Integer> quantitiesById) {
+        List<Object[]> batchArgs = new ArrayList<>(quantitiesById.size());
+        for (Map.Entry<Long, Integer> entry : quantitiesById.entrySet()) {
+            batchArgs.add(new Object[]{entry.getValue(), entry.getKey(), entry.getValue()});
+        }
+        return jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, batchArgs);
+    }
+
+    @Override
+    public int incrementStockBatch(SortedMap<Long, Integer> quantitiesById) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantitiesById.entrySet());
+        int updated = 0;
+        for (int from = 0; from < entries.size(); from += INCREMENT_STOCK_CHUNK_SIZE) {
+            List<Map.Entry<Long, Integer>> chunk =
+                    entries.subList(from, Math.min(from + INCREMENT_STOCK_CHUNK_SIZE, entries.size()));
+            // UPDATE sweets SET version = version + 1, quantity = quantity + CASE id WHEN ? THEN ? ... END WHERE id IN (?, ...)
+            StringBuilder sql = new StringBuilder("UPDATE sweets SET version = version + 1, quantity = quantity + CASE id");
+            List<Object> args = new ArrayList<>(chunk.size() * 3);
+            for (Map.Entry<Long, Integer> entry : chunk) {
+                sql.append(" WHEN ? THEN ?");
+                args.add(entry.getKey());
+                args.add(entry.getValue());
+            }
+            sql.append(" END WHERE id IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                args.add(chunk.get(i).getKey());
+            }
+            sql.append(')');
+            updated += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return updated;
+    }
+
+    @Override
+    public Stream<Sweet> streamAll(int fetchSize) {
+        return entityManager.createQuery("SELECT s FROM Sweet s ORDER BY s.id", Sweet.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
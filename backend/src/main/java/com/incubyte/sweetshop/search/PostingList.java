@@ -0,0 +1,63 @@
+package com.incubyte.sweetshop.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, sorted array of sweet ids. Ids are assigned in increasing order,
+ * so inserts are almost always appends.
+ */
+class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /** Index of the first id strictly greater than {@code afterId}. */
+    int indexAfter(long afterId) {
+        int index = Arrays.binarySearch(ids, 0, size, afterId);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    void add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            insertAt(-index - 1, id);
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+
+    private void insertAt(int index, long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
@@ -0,0 +1,152 @@
+package com.incubyte.sweetshop.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Sweet prices as long cents in one sorted primitive array, with the matching
+ * ids in a parallel array, ordered by (price, id). Price ranges and keyset
+ * positions are binary searches over the two arrays; nothing is boxed.
+ */
+class PriceIndex {
+
+    private long[] cents = new long[4];
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long centsAt(int index) {
+        return cents[index];
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    /** Index of the first entry priced at or above {@code minCents}. */
+    int lowerBound(long minCents) {
+        return position(minCents, Long.MIN_VALUE);
+    }
+
+    /** Index just past the last entry priced at or below {@code maxCents}. */
+    int upperBound(long maxCents) {
+        return position(maxCents, Long.MAX_VALUE);
+    }
+
+    /** Index of the first entry ordered after ({@code afterCents}, {@code afterId}). */
+    int indexAfter(long afterCents, long afterId) {
+        int index = position(afterCents, afterId);
+        return index < size && cents[index] == afterCents && ids[index] == afterId ? index + 1 : index;
+    }
+
+    /** Index of the first entry not ordered before ({@code priceCents}, {@code id}). */
+    int indexOf(long priceCents, long id) {
+        return position(priceCents, id);
+    }
+
+    void add(long id, long priceCents) {
+        int index = position(priceCents, id);
+        if (index < size && cents[index] == priceCents && ids[index] == id) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            cents = Arrays.copyOf(cents, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        System.arraycopy(cents, index, cents, index + 1, size - index);
+        ids[index] = id;
+        cents[index] = priceCents;
+        size++;
+    }
+
+    /**
+     * Appends without keeping the order, for bulk loads of distinct ids. The
+     * index must be {@link #sort() sorted} before it is read again.
+     */
+    void append(long id, long priceCents) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            cents = Arrays.copyOf(cents, size * 2);
+        }
+        ids[size] = id;
+        cents[size] = priceCents;
+        size++;
+    }
+
+    /** Restores (price, id) order with a bottom-up merge sort over both arrays: O(n log n), no boxing. */
+    void sort() {
+        long[] fromCents = cents;
+        long[] fromIds = ids;
+        long[] toCents = new long[cents.length];
+        long[] toIds = new long[ids.length];
+        for (long width = 1; width < size; width *= 2) {
+            for (long start = 0; start < size; start += 2 * width) {
+                int low = (int) start;
+                int mid = (int) Math.min(start + width, size);
+                int high = (int) Math.min(start + 2 * width, size);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    boolean takeRight = left >= mid || (right < high
+                            && (fromCents[right] < fromCents[left]
+                                || (fromCents[right] == fromCents[left] && fromIds[right] < fromIds[left])));
+                    int source = takeRight ? right++ : left++;
+                    toCents[k] = fromCents[source];
+                    toIds[k] = fromIds[source];
+                }
+            }
+            long[] swapCents = fromCents;
+            long[] swapIds = fromIds;
+            fromCents = toCents;
+            fromIds = toIds;
+            toCents = swapCents;
+            toIds = swapIds;
+        }
+        cents = fromCents;
+        ids = fromIds;
+    }
+
+    void remove(long id, long priceCents) {
+        int index = position(priceCents, id);
+        if (index < size && cents[index] == priceCents && ids[index] == id) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(cents, index + 1, cents, index, size - index - 1);
+            size--;
+        }
+    }
+
+    // Number of entries ordered strictly before (priceCents, id)
+    private int position(long priceCents, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cents[mid] < priceCents || (cents[mid] == priceCents && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Stored prices have two decimals; rounds like the NUMERIC(10, 2) column does. */
+    static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** Smallest cent amount at or above {@code price}, for an inclusive lower bound. */
+    static long ceilCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.CEILING).unscaledValue().longValueExact();
+    }
+
+    /** Largest cent amount at or below {@code price}, for an inclusive upper bound. */
+    static long floorCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.FLOOR).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,18 @@
+package com.incubyte.sweetshop.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Position in price order: a price in cents with the id as tie-breaker. Used
+ * as the keyset cursor when results are sorted by price.
+ */
+public record PriceKey(long cents, long id) {
+
+    public static PriceKey of(BigDecimal price, long id) {
+        return new PriceKey(PriceIndex.toCents(price), id);
+    }
+
+    public BigDecimal price() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,393 @@
+package com.incubyte.sweetshop.search;
+
+import com.incubyte.sweetshop.catalog.CatalogVersion;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram inverted index over sweet names and categories, plus a
+ * {@link PriceIndex} over prices in cents. Answers the same substring/price
+ * filters as {@link SweetRepository#searchSweets} and returns matching ids in
+ * ascending order, or in price order, so callers can keep keyset paging.
+ * Stock changes do not affect matching and are ignored; events older than the
+ * indexed state (by {@code version}) are dropped. A rebuild reads the table
+ * into a new index without blocking searches, swaps it in and replays the
+ * events that arrived while it read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SweetSearchIndex {
+
+    private final SweetRepository sweetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${sweets.search.index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${sweets.search.index.fetch-size:500}")
+    private int fetchSize = 500;
+
+    private final Lock rebuildLock = new ReentrantLock();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Non-null while a rebuild is reading the database
+    private List<SweetChangedEvent> pending;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildIndex();
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        // Stock is not indexed, like the STOCK_CHANGED events skipped below
+        if (event.isStockOnly()) {
+            return;
+        }
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Index loaded = new Index();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<Sweet> sweets = sweetRepository.streamAll(fetchSize)) {
+                        sweets.forEach(sweet -> {
+                            loaded.add(sweet, true);
+                            entityManager.detach(sweet);
+                        });
+                    }
+                });
+                loaded.prices.sort();
+            } catch (RuntimeException e) {
+                // Keep serving and maintaining the current index
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            // Only the swap blocks searches
+            lock.writeLock().lock();
+            try {
+                pending.forEach(loaded::apply);
+                pending = null;
+                index = loaded;
+                ready = true;
+                log.info("Search index built with {} sweets", loaded.documents.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        if (!enabled || event.getType() == SweetChangedEvent.ChangeType.STOCK_CHANGED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            index.apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} ids greater than {@code afterId} whose name and
+     * category contain the given fragments (case-insensitive) and whose price
+     * lies within the optional bounds.
+     */
+    public List<Long> search(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                             long afterId, int limit) {
+        String nameQuery = normalize(name);
+        String categoryQuery = normalize(category);
+        long minCents = minCents(minPrice);
+        long maxCents = maxCents(maxPrice);
+        List<Long> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            List<PostingList> postings = new ArrayList<>();
+            if (!collectPostings(current.nameTrigrams, nameQuery, postings)
+                    || !collectPostings(current.categoryTrigrams, categoryQuery, postings)) {
+                return result;
+            }
+            PostingList driver = rarest(current, postings);
+            int from = current.prices.lowerBound(minCents);
+            int to = current.prices.upperBound(maxCents);
+            if (to - from < driver.size()) {
+                return searchPriceRange(current, postings, nameQuery, categoryQuery, from, to, afterId, limit);
+            }
+            for (int i = driver.indexAfter(afterId); i < driver.size() && result.size() < limit; i++) {
+                long id = driver.get(i);
+                Document document = current.documents.get(id);
+                if (containsAll(postings, driver, id)
+                        && document.matches(nameQuery, categoryQuery)
+                        && document.priceWithin(minCents, maxCents)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matches for the same filters as
+     * {@link #search}, ordered by price and then id (both descending when
+     * {@code descending}), starting after the {@code after} key if given.
+     */
+    public List<PriceKey> searchByPrice(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                        boolean descending, PriceKey after, int limit) {
+        String nameQuery = normalize(name);
+        String categoryQuery = normalize(category);
+        long minCents = minCents(minPrice);
+        long maxCents = maxCents(maxPrice);
+        List<PriceKey> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            PriceIndex prices = current.prices;
+            List<PostingList> postings = new ArrayList<>();
+            if (!collectPostings(current.nameTrigrams, nameQuery, postings)
+                    || !collectPostings(current.categoryTrigrams, categoryQuery, postings)) {
+                return result;
+            }
+            // Walk the global index in price order and filter; the scan stops once the page is full
+            int from = prices.lowerBound(minCents);
+            int to = prices.upperBound(maxCents);
+            if (after != null && descending) {
+                to = Math.min(to, prices.indexOf(after.cents(), after.id()));
+            } else if (after != null) {
+                from = Math.max(from, prices.indexAfter(after.cents(), after.id()));
+            }
+            for (int n = 0; n < to - from && result.size() < limit; n++) {
+                int i = descending ? to - 1 - n : from + n;
+                long id = prices.idAt(i);
+                if (containsAll(postings, null, id) && current.documents.get(id).matches(nameQuery, categoryQuery)) {
+                    result.add(new PriceKey(prices.centsAt(i), id));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The price range is the most selective filter: scan it, then restore id order
+    private List<Long> searchPriceRange(Index current, List<PostingList> postings, String nameQuery,
+                                        String categoryQuery, int from, int to, long afterId, int limit) {
+        long[] matches = new long[Math.max(0, to - from)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            long id = current.prices.idAt(i);
+            if (id > afterId && containsAll(postings, null, id)
+                    && current.documents.get(id).matches(nameQuery, categoryQuery)) {
+                matches[count++] = id;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        List<Long> result = new ArrayList<>(Math.min(count, limit));
+        for (int i = 0; i < count && i < limit; i++) {
+            result.add(matches[i]);
+        }
+        return result;
+    }
+
+    // Drive scans from the rarest trigram and probe the rest
+    private PostingList rarest(Index current, List<PostingList> postings) {
+        PostingList driver = current.allIds;
+        for (PostingList posting : postings) {
+            if (posting.size() < driver.size()) {
+                driver = posting;
+            }
+        }
+        return driver;
+    }
+
+    private boolean collectPostings(Map<Long, PostingList> index, String query, List<PostingList> postings) {
+        if (query == null) {
+            return true;
+        }
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            PostingList posting = index.get(trigram(query, i));
+            if (posting == null) {
+                return false;
+            }
+            postings.add(posting);
+        }
+        return true;
+    }
+
+    private boolean containsAll(List<PostingList> postings, PostingList driver, long id) {
+        for (PostingList posting : postings) {
+            if (posting != driver && !posting.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Packs three UTF-16 chars into one key, avoiding a substring per trigram
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+                | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+    }
+
+    private static long minCents(BigDecimal minPrice) {
+        return minPrice == null ? Long.MIN_VALUE : PriceIndex.ceilCents(minPrice);
+    }
+
+    private static long maxCents(BigDecimal maxPrice) {
+        return maxPrice == null ? Long.MAX_VALUE : PriceIndex.floorCents(maxPrice);
+    }
+
+    private static String normalize(String query) {
+        return query == null || query.isEmpty() ? null : query.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isOlder(Long version, Long than) {
+        return version != null && than != null && version < than;
+    }
+
+    /** One generation of the index; replaced as a whole by a rebuild. */
+    private static final class Index {
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<Long, PostingList> nameTrigrams = new HashMap<>();
+        private final Map<Long, PostingList> categoryTrigrams = new HashMap<>();
+        private final PostingList allIds = new PostingList();
+        private final PriceIndex prices = new PriceIndex();
+
+        void apply(SweetChangedEvent event) {
+            Sweet sweet = event.getSweet();
+            Document previous = documents.get(sweet.getId());
+            if (previous != null && isOlder(sweet.getVersion(), previous.version())) {
+                return;
+            }
+            remove(sweet.getId());
+            if (event.getType() != SweetChangedEvent.ChangeType.DELETED) {
+                add(sweet, false);
+            }
+        }
+
+        // A rebuild appends prices unsorted and sorts them once at the end
+        void add(Sweet sweet, boolean bulk) {
+            Document document = new Document(
+                    sweet.getName().toLowerCase(Locale.ROOT),
+                    sweet.getCategory().toLowerCase(Locale.ROOT),
+                    PriceIndex.toCents(sweet.getPrice()),
+                    sweet.getVersion()
+            );
+            long id = sweet.getId();
+            documents.put(id, document);
+            allIds.add(id);
+            if (bulk) {
+                prices.append(id, document.priceCents());
+            } else {
+                prices.add(id, document.priceCents());
+            }
+            addTrigrams(nameTrigrams, document.name(), id);
+            addTrigrams(categoryTrigrams, document.category(), id);
+        }
+
+        private void remove(long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            allIds.remove(id);
+            prices.remove(id, document.priceCents());
+            removeTrigrams(nameTrigrams, document.name(), id);
+            removeTrigrams(categoryTrigrams, document.category(), id);
+        }
+
+        private static void addTrigrams(Map<Long, PostingList> index, String text, long id) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                index.computeIfAbsent(trigram(text, i), key -> new PostingList()).add(id);
+            }
+        }
+
+        private static void removeTrigrams(Map<Long, PostingList> index, String text, long id) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                long key = trigram(text, i);
+                PostingList posting = index.get(key);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.size() == 0) {
+                        index.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private record Document(String name, String category, long priceCents, Long version) {
+
+        boolean matches(String nameQuery, String categoryQuery) {
+            return (nameQuery == null || name.contains(nameQuery))
+                    && (categoryQuery == null || category.contains(categoryQuery));
+        }
+
+        boolean priceWithin(long minCents, long maxCents) {
+            return priceCents >= minCents && priceCents <= maxCents;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.incubyte.sweetshop.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.security.Principal;
+
+/**
+ * Principal rebuilt from verified JWT claims, so authenticated requests do not
+ * need to load the user from the database.
+ */
+@Data
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    private Long id;
+    private String username;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
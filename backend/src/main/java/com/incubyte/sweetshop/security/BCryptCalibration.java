@@ -0,0 +1,40 @@
+package com.incubyte.sweetshop.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt cost whose hash time on this machine is closest to, without
+ * exceeding, a target. Each cost step doubles the work, so one measurement at
+ * the minimum cost is enough to extrapolate.
+ */
+@Slf4j
+public final class BCryptCalibration {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCalibration() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(minStrength);
+        BCrypt.hashpw("calibration", salt); // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double measuredMillis = Math.max(best / 1e6, 0.001);
+
+        int strength = minStrength;
+        double millis = measuredMillis;
+        while (strength < maxStrength && millis * 2 <= targetMillis) {
+            strength++;
+            millis *= 2;
+        }
+        log.info("BCrypt cost {} takes {} ms; using cost {} (~{} ms, target {} ms)",
+                minStrength, Math.round(measuredMillis), strength, Math.round(millis), targetMillis);
+        return strength;
+    }
+}
@@ -0,0 +1,59 @@
+package com.incubyte.sweetshop.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional short-TTL cache of user authorities. When enabled, the JWT filter
+ * takes roles from here instead of the token, so role changes apply within
+ * one TTL while still hitting the database at most once per user per TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAuthoritiesCache {
+
+    private final UserDetailsService userDetailsService;
+
+    @Value("${jwt.user-cache.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${jwt.user-cache.ttl-ms:5000}")
+    private long ttlMs = 5_000;
+
+    @Value("${jwt.user-cache.max-size:10000}")
+    private int maxSize = 10_000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.authorities();
+        }
+        Collection<? extends GrantedAuthority> authorities =
+                userDetailsService.loadUserByUsername(username).getAuthorities();
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(stale -> stale.expiresAt() <= now);
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(username, new Entry(authorities, now + ttlMs));
+        return authorities;
+    }
+
+    private record Entry(Collection<? extends GrantedAuthority> authorities, long expiresAt) {
+    }
+}
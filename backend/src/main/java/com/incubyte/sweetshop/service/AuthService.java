@@ -4,16 +4,20 @@ import com.incubyte.sweetshop.dto.AuthRequest;
 import com.incubyte.sweetshop.dto.AuthResponse;
 import com.incubyte.sweetshop.dto.LoginRequest;
 import com.incubyte.sweetshop.entity.User;
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.metrics.SweetShopMetrics;
 import com.incubyte.sweetshop.repository.UserRepository;
-import com.incubyte.sweetshop.security.CustomUserDetailsService;
 import com.incubyte.sweetshop.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -23,46 +27,59 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
-    private final CustomUserDetailsService userDetailsService;
+    private final SweetShopMetrics metrics;
 
-    @Transactional
+    // Not @Transactional: hashing can wait on the hashing pool and must not hold a database connection meanwhile
     public AuthResponse register(AuthRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-
         User user = new User(
                 request.getUsername(),
                 request.getEmail(),
                 passwordEncoder.encode(request.getPassword())
         );
 
-        userRepository.save(user);
-        
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String token = jwtTokenProvider.generateToken(userDetails);
+        // No exists checks: the unique indexes decide, which also closes the race between concurrent sign-ups
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        }
+
+        String token = jwtTokenProvider.generateToken(user);
 
         return new AuthResponse(token, user.getUsername(), user.getEmail(), user.isAdmin());
     }
 
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsername(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            metrics.recordFailedLogin();
+            throw e;
+        }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        String token = jwtTokenProvider.generateToken(userDetails);
-        
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String token = jwtTokenProvider.generateToken(user);
 
         return new AuthResponse(token, user.getUsername(), user.getEmail(), user.isAdmin());
     }
-}
 
+    private RuntimeException toConflict(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+                : String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return new ConflictException("Username already exists");
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return new ConflictException("Email already exists");
+        }
+        return e;
+    }
+}
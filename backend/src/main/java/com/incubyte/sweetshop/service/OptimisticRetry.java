@@ -0,0 +1,66 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.metrics.SweetShopMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and re-runs it from a fresh
+ * read when the commit loses an optimistic-lock race on {@code @Version}.
+ * Attempts back off exponentially with full jitter so colliding writers
+ * spread out; when they run out the caller gets a {@link ConflictException}.
+ * Inside an existing transaction there is nothing to retry, so the action
+ * runs once.
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final SweetShopMetrics metrics;
+
+    @Value("${sweets.optimistic-retry.max-attempts:4}")
+    private int maxAttempts = 4;
+
+    @Value("${sweets.optimistic-retry.initial-backoff-ms:10}")
+    private long initialBackoffMs = 10;
+
+    @Value("${sweets.optimistic-retry.max-backoff-ms:200}")
+    private long maxBackoffMs = 200;
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                boolean exhausted = attempt >= maxAttempts;
+                metrics.recordOptimisticConflict(operation, exhausted);
+                if (exhausted) {
+                    throw new ConflictException("Sweet was modified concurrently, please retry");
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying a concurrent modification");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.incubyte.sweetshop.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class SweetExportService {
+
+    private static final String CSV_HEADER = "id,name,category,price,quantity";
+
+    private final SweetRepository sweetRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sweets.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Sweet> sweets = sweetRepository.streamAll(fetchSize);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<Sweet> iterator = sweets.iterator();
+            while (iterator.hasNext()) {
+                Sweet sweet = iterator.next();
+                writer.writeValue(generator, sweet);
+                generator.writeRaw('\n');
+                // Rows are written once and never revisited, so keep the persistence context empty
+                entityManager.detach(sweet);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        try (Stream<Sweet> sweets = sweetRepository.streamAll(fetchSize)) {
+            Iterator<Sweet> iterator = sweets.iterator();
+            while (iterator.hasNext()) {
+                Sweet sweet = iterator.next();
+                writer.write(sweet.getId().toString());
+                writer.write(',');
+                writer.write(escapeCsv(sweet.getName()));
+                writer.write(',');
+                writer.write(escapeCsv(sweet.getCategory()));
+                writer.write(',');
+                writer.write(sweet.getPrice().toPlainString());
+                writer.write(',');
+                writer.write(sweet.getQuantity().toString());
+                writer.write('\n');
+                entityManager.detach(sweet);
+            }
+        }
+        writer.flush();
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
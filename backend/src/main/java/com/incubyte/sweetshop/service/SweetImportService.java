@@ -0,0 +1,296 @@
+package com.incubyte.sweetshop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.incubyte.sweetshop.dto.ImportResponse;
+import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk catalog import. Rows are validated one by one with the same rules as
+ * {@link SweetRequest}; valid rows are inserted in JDBC batches, each batch in
+ * its own transaction, so one bad row or a failing batch never rolls back the
+ * rest of the file. A batch the database rejects is retried row by row, so
+ * only the offending rows are reported.
+ */
+@Service
+@RequiredArgsConstructor
+public class SweetImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "category", "price", "quantity");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${sweets.import.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${sweets.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    public ImportResponse importCsv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Batcher batcher = new Batcher();
+        long[] lineNumber = {0};
+        List<String> header = readCsvRecord(reader, lineNumber);
+        if (header == null) {
+            throw new RuntimeException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new RuntimeException("CSV header is missing column: " + column);
+            }
+        }
+
+        List<String> record;
+        while (true) {
+            long line = lineNumber[0] + 1;
+            try {
+                record = readCsvRecord(reader, lineNumber);
+            } catch (IllegalArgumentException e) {
+                batcher.reject(line, e.getMessage());
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (record.size() != header.size()) {
+                batcher.reject(line, "Expected " + header.size() + " columns but found " + record.size());
+                continue;
+            }
+            SweetRequest request = new SweetRequest();
+            request.setName(emptyToNull(record.get(columns.get("name"))));
+            request.setCategory(emptyToNull(record.get(columns.get("category"))));
+            try {
+                request.setPrice(parseDecimal(record.get(columns.get("price"))));
+            } catch (NumberFormatException e) {
+                batcher.reject(line, "Price is not a number");
+                continue;
+            }
+            try {
+                request.setQuantity(parseInteger(record.get(columns.get("quantity"))));
+            } catch (NumberFormatException e) {
+                batcher.reject(line, "Quantity is not a whole number");
+                continue;
+            }
+            batcher.accept(line, request);
+        }
+        return batcher.finish();
+    }
+
+    public ImportResponse importNdjson(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ObjectReader requestReader = objectMapper.readerFor(SweetRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Batcher batcher = new Batcher();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            SweetRequest request;
+            try {
+                request = requestReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                batcher.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            // A literal null is valid JSON but not a sweet
+            if (request == null) {
+                batcher.reject(lineNumber, "Expected a JSON object");
+                continue;
+            }
+            batcher.accept(lineNumber, request);
+        }
+        return batcher.finish();
+    }
+
+    private void insertBatch(List<Sweet> sweets) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batchSize);
+            for (Sweet sweet : sweets) {
+                entityManager.persist(sweet);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /** Collects validated rows into batches and tallies the outcome. */
+    private class Batcher {
+        private final ImportResponse response = new ImportResponse();
+        private final List<Sweet> pending = new ArrayList<>(batchSize);
+        private final List<Long> pendingLines = new ArrayList<>(batchSize);
+
+        void accept(long line, SweetRequest request) {
+            Set<ConstraintViolation<SweetRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            pending.add(new Sweet(null, request.getName(), request.getCategory(), request.getPrice(), request.getQuantity()));
+            pendingLines.add(line);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            response.setFailed(response.getFailed() + 1);
+            if (response.getErrors().size() < maxReportedErrors) {
+                response.getErrors().add(new ImportResponse.RowError(line, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                insertBatch(pending);
+                response.setImported(response.getImported() + pending.size());
+            } catch (DataAccessException | PersistenceException e) {
+                // The database rejected the batch as a whole; find the rows it was rejecting
+                for (int i = 0; i < pending.size(); i++) {
+                    insertOne(pendingLines.get(i), pending.get(i));
+                }
+            }
+            pending.clear();
+            pendingLines.clear();
+        }
+
+        private void insertOne(long line, Sweet rejected) {
+            // A fresh instance, since the failed persist may have left an id on the old one
+            Sweet sweet = new Sweet(null, rejected.getName(), rejected.getCategory(), rejected.getPrice(),
+                    rejected.getQuantity());
+            try {
+                insertBatch(List.of(sweet));
+                response.setImported(response.getImported() + 1);
+            } catch (DataAccessException | PersistenceException e) {
+                String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                reject(line, "Insert failed: " + cause.lines().findFirst().orElse(cause));
+            }
+        }
+
+        ImportResponse finish() {
+            flush();
+            if (response.getImported() > 0) {
+                eventPublisher.publishEvent(new CatalogBulkChangedEvent("import", response.getImported()));
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Reads one RFC 4180 record: fields may be quoted, quoted fields may contain
+     * commas, doubled quotes and line breaks. Returns null at end of input.
+     */
+    private static List<String> readCsvRecord(BufferedReader reader, long[] lineNumber) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber[0]++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+                lineNumber[0]++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        String trimmed = emptyToNull(value);
+        return trimmed == null ? null : new BigDecimal(trimmed);
+    }
+
+    private static Integer parseInteger(String value) {
+        String trimmed = emptyToNull(value);
+        return trimmed == null ? null : Integer.valueOf(trimmed);
+    }
+}
@@ -1,37 +1,149 @@
 package com.incubyte.sweetshop.service;
 
+import com.incubyte.sweetshop.catalog.CatalogReplica;
+import com.incubyte.sweetshop.catalog.CategoryFacets;
+import com.incubyte.sweetshop.catalog.SweetNearCache;
+import com.incubyte.sweetshop.dto.BulkRestockRequest;
+import com.incubyte.sweetshop.dto.BulkUpdateResponse;
+import com.incubyte.sweetshop.dto.CategoryFacet;
+import com.incubyte.sweetshop.dto.CursorPage;
+import com.incubyte.sweetshop.dto.OrderItemRequest;
+import com.incubyte.sweetshop.dto.OrderRequest;
+import com.incubyte.sweetshop.dto.OrderResponse;
+import com.incubyte.sweetshop.dto.PriceAdjustmentRequest;
 import com.incubyte.sweetshop.dto.SearchRequest;
 import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.dto.SweetView;
 import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent.ChangeType;
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.flashsale.FlashSaleStock;
+import com.incubyte.sweetshop.metrics.SweetShopMetrics;
 import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.search.PriceKey;
+import com.incubyte.sweetshop.search.SweetSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 public class SweetService {
 
     private final SweetRepository sweetRepository;
+    private final SweetSearchIndex sweetSearchIndex;
+    private final CatalogReplica catalogReplica;
+    private final SweetNearCache sweetNearCache;
+    private final CategoryFacets categoryFacets;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SweetShopMetrics metrics;
+    private final FlashSaleStock flashSaleStock;
+    private final OptimisticRetry optimisticRetry;
+
+    @Value("${sweets.page.default-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${sweets.page.max-size:100}")
+    private int maxPageSize = 100;
 
     public List<Sweet> getAllSweets() {
-        return sweetRepository.findAll();
+        return catalogReplica.findAll().orElseGet(sweetRepository::findAll);
+    }
+
+    public CursorPage<SweetView> getAllSweets(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Long afterId = decodeCursor(cursor);
+        List<SweetView> sweets = catalogReplica.findPage(afterId, pageSize + 1)
+                .map(page -> page.stream().map(SweetView::from).toList())
+                .orElseGet(() -> sweetRepository.findViewsByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1)));
+        return toPage(sweets, pageSize);
     }
 
     public Sweet getSweetById(Long id) {
-        return sweetRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Sweet not found with id: " + id));
+        return catalogReplica.findById(id).orElseGet(() -> sweetNearCache.get(id, this::findSweet));
     }
 
-    public List<Sweet> searchSweets(SearchRequest searchRequest) {
-        return sweetRepository.searchSweets(
+    public CursorPage<SweetView> searchSweets(SearchRequest searchRequest, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        String sort = searchRequest.getSort();
+        if (sort != null && !sort.isBlank() && !sort.equals("id")) {
+            if (!sort.equals("price") && !sort.equals("-price")) {
+                throw new RuntimeException("Unsupported sort: " + sort);
+            }
+            return searchSweetsByPrice(searchRequest, sort.equals("-price"), decodePriceCursor(cursor), pageSize);
+        }
+        if (sweetSearchIndex.isReady()) {
+            List<Long> ids = sweetSearchIndex.search(
+                    searchRequest.getName(),
+                    searchRequest.getCategory(),
+                    searchRequest.getMinPrice(),
+                    searchRequest.getMaxPrice(),
+                    decodeCursor(cursor),
+                    pageSize + 1
+            );
+            return loadPage(ids, pageSize);
+        }
+        List<SweetView> sweets = sweetRepository.searchSweets(
                 searchRequest.getName(),
                 searchRequest.getCategory(),
                 searchRequest.getMinPrice(),
-                searchRequest.getMaxPrice()
+                searchRequest.getMaxPrice(),
+                decodeCursor(cursor),
+                Limit.of(pageSize + 1)
         );
+        return toPage(sweets, pageSize);
+    }
+
+    private CursorPage<SweetView> searchSweetsByPrice(SearchRequest searchRequest, boolean descending,
+                                                      PriceKey after, int pageSize) {
+        if (sweetSearchIndex.isReady()) {
+            List<PriceKey> keys = sweetSearchIndex.searchByPrice(
+                    searchRequest.getName(),
+                    searchRequest.getCategory(),
+                    searchRequest.getMinPrice(),
+                    searchRequest.getMaxPrice(),
+                    descending,
+                    after,
+                    pageSize + 1
+            );
+            boolean hasMore = keys.size() > pageSize;
+            List<PriceKey> pageKeys = hasMore ? keys.subList(0, pageSize) : keys;
+            List<SweetView> sweets = loadViews(pageKeys.stream().map(PriceKey::id).toList());
+            return new CursorPage<>(sweets, hasMore ? encodePriceCursor(pageKeys.get(pageSize - 1)) : null);
+        }
+        BigDecimal afterPrice = after == null ? null : after.price();
+        Long afterId = after == null ? null : after.id();
+        List<SweetView> sweets = descending
+                ? sweetRepository.searchSweetsByPriceDesc(searchRequest.getName(), searchRequest.getCategory(),
+                        searchRequest.getMinPrice(), searchRequest.getMaxPrice(), afterPrice, afterId, Limit.of(pageSize + 1))
+                : sweetRepository.searchSweetsByPriceAsc(searchRequest.getName(), searchRequest.getCategory(),
+                        searchRequest.getMinPrice(), searchRequest.getMaxPrice(), afterPrice, afterId, Limit.of(pageSize + 1));
+        if (sweets.size() <= pageSize) {
+            return new CursorPage<>(sweets, null);
+        }
+        List<SweetView> items = sweets.subList(0, pageSize);
+        SweetView last = items.get(pageSize - 1);
+        return new CursorPage<>(items, encodePriceCursor(PriceKey.of(last.price(), last.id())));
+    }
+
+    public List<CategoryFacet> getCategoryFacets() {
+        return categoryFacets.facets().orElseGet(sweetRepository::aggregateByCategory);
     }
 
     @Transactional
@@ -41,40 +153,281 @@ public class SweetService {
         sweet.setCategory(request.getCategory());
         sweet.setPrice(request.getPrice());
         sweet.setQuantity(request.getQuantity());
-        return sweetRepository.save(sweet);
+        Sweet saved = sweetRepository.save(sweet);
+        publish(ChangeType.CREATED, saved);
+        return saved;
     }
 
-    @Transactional
     public Sweet updateSweet(Long id, SweetRequest request) {
-        Sweet sweet = getSweetById(id);
-        sweet.setName(request.getName());
-        sweet.setCategory(request.getCategory());
-        sweet.setPrice(request.getPrice());
-        sweet.setQuantity(request.getQuantity());
-        return sweetRepository.save(sweet);
+        return optimisticRetry.execute("update", () -> {
+            Sweet sweet = findSweet(id);
+            // A client that read an older version would overwrite changes it never saw; retrying cannot fix that
+            if (request.getVersion() != null && !request.getVersion().equals(sweet.getVersion())) {
+                throw new ConflictException("Sweet was modified since version " + request.getVersion());
+            }
+            sweet.setName(request.getName());
+            sweet.setCategory(request.getCategory());
+            sweet.setPrice(request.getPrice());
+            sweet.setQuantity(request.getQuantity());
+            Sweet saved = sweetRepository.saveAndFlush(sweet);
+            // A current version says nothing about the flash-sale counter; the 409 is not retried
+            rejectIfHot(id);
+            publish(ChangeType.UPDATED, saved);
+            return saved;
+        });
     }
 
-    @Transactional
     public void deleteSweet(Long id) {
-        Sweet sweet = getSweetById(id);
-        sweetRepository.delete(sweet);
+        optimisticRetry.execute("delete", () -> {
+            Sweet sweet = findSweet(id);
+            sweetRepository.delete(sweet);
+            sweetRepository.flush();
+            rejectIfHot(id);
+            publish(ChangeType.DELETED, sweet);
+            return null;
+        });
     }
 
     @Transactional
     public Sweet purchaseSweet(Long id) {
-        Sweet sweet = getSweetById(id);
-        if (sweet.getQuantity() <= 0) {
+        return purchaseSweet(id, 1);
+    }
+
+    @Transactional
+    public Sweet purchaseSweet(Long id, int quantity) {
+        if (quantity <= 0) {
+            throw new RuntimeException("Quantity must be a positive number");
+        }
+        switch (flashSaleStock.take(id, quantity)) {
+            case TAKEN -> {
+                metrics.recordPurchase(quantity);
+                return flashSaleStock.withLiveQuantity(getSweetById(id));
+            }
+            case OUT_OF_STOCK -> {
+                metrics.recordOutOfStock();
+                throw new RuntimeException("Sweet is out of stock");
+            }
+            case NOT_HOT -> { }
+        }
+        if (sweetRepository.decrementStock(id, quantity) == 0) {
+            // Nothing was updated: either the sweet is missing or stock is short
+            findSweet(id);
+            metrics.recordOutOfStock();
             throw new RuntimeException("Sweet is out of stock");
         }
-        sweet.setQuantity(sweet.getQuantity() - 1);
-        return sweetRepository.save(sweet);
+        rejectIfHot(id);
+        Sweet sweet = findSweet(id);
+        metrics.recordPurchase(quantity);
+        publish(ChangeType.STOCK_CHANGED, sweet);
+        return sweet;
     }
 
     @Transactional
+    public OrderResponse checkout(OrderRequest request) {
+        // Merge duplicate lines and sort by id so every checkout locks rows in the same order
+        SortedMap<Long, Integer> quantitiesById = new TreeMap<>();
+        for (OrderItemRequest item : request.getItems()) {
+            quantitiesById.merge(item.getSweetId(), item.getQuantity(), Integer::sum);
+        }
+
+        // Flash-sale items come out of their in-memory counters; a rollback puts the units back
+        SortedMap<Long, Integer> databaseQuantities = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : quantitiesById.entrySet()) {
+            switch (flashSaleStock.take(entry.getKey(), entry.getValue())) {
+                case TAKEN -> { }
+                case OUT_OF_STOCK -> {
+                    metrics.recordOutOfStock();
+                    throw new RuntimeException("Sweet is out of stock with id: " + entry.getKey());
+                }
+                case NOT_HOT -> databaseQuantities.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        int[] updated = sweetRepository.decrementStockBatch(databaseQuantities);
+        int index = 0;
+        for (Long id : databaseQuantities.keySet()) {
+            if (updated[index++] == 0) {
+                findSweet(id);
+                metrics.recordOutOfStock();
+                throw new RuntimeException("Sweet is out of stock with id: " + id);
+            }
+            rejectIfHot(id);
+        }
+
+        List<Sweet> sweets = new ArrayList<>(quantitiesById.size());
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        int units = 0;
+        for (Sweet sweet : sweetRepository.findAllById(quantitiesById.keySet())) {
+            int quantity = quantitiesById.get(sweet.getId());
+            totalPrice = totalPrice.add(sweet.getPrice().multiply(BigDecimal.valueOf(quantity)));
+            units += quantity;
+            if (databaseQuantities.containsKey(sweet.getId())) {
+                publish(ChangeType.STOCK_CHANGED, sweet);
+                sweets.add(sweet);
+            } else {
+                sweets.add(flashSaleStock.withLiveQuantity(sweet));
+            }
+        }
+        metrics.recordPurchase(units);
+        return new OrderResponse(sweets, totalPrice);
+    }
+
     public Sweet restockSweet(Long id, Integer quantity) {
-        Sweet sweet = getSweetById(id);
-        sweet.setQuantity(sweet.getQuantity() + quantity);
-        return sweetRepository.save(sweet);
+        if (flashSaleStock.restock(id, quantity)) {
+            return flashSaleStock.withLiveQuantity(getSweetById(id));
+        }
+        return optimisticRetry.execute("restock", () -> {
+            Sweet sweet = findSweet(id);
+            sweet.setQuantity(sweet.getQuantity() + quantity);
+            Sweet saved = sweetRepository.save(sweet);
+            publish(ChangeType.STOCK_CHANGED, saved);
+            return saved;
+        });
+    }
+
+    @Transactional
+    public BulkUpdateResponse restockSweets(BulkRestockRequest request) {
+        // Merged and id-ordered like checkout, so concurrent bulk writes lock rows in the same order
+        SortedMap<Long, Integer> quantitiesById = new TreeMap<>();
+        for (OrderItemRequest item : request.getItems()) {
+            quantitiesById.merge(item.getSweetId(), item.getQuantity(), Integer::sum);
+        }
+        int hot = 0;
+        for (Iterator<Map.Entry<Long, Integer>> it = quantitiesById.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, Integer> entry = it.next();
+            if (flashSaleStock.restockAfterCommit(entry.getKey(), entry.getValue())) {
+                it.remove();
+                hot++;
+            }
+        }
+        int updated = sweetRepository.incrementStockBatch(quantitiesById);
+        publishBulk(new CatalogBulkChangedEvent("restock", updated, quantitiesById));
+        updated += hot;
+        return new BulkUpdateResponse(updated);
+    }
+
+    @Transactional
+    public BulkUpdateResponse adjustPrices(PriceAdjustmentRequest request) {
+        BigDecimal factor = BigDecimal.ONE.add(request.getPercent().movePointLeft(2));
+        int updated = sweetRepository.adjustPriceByCategory(request.getCategory(), factor);
+        publishBulk("price-adjustment", updated);
+        return new BulkUpdateResponse(updated);
     }
-}
 
+    public Sweet startFlashSale(Long id) {
+        flashSaleStock.enter(id);
+        return flashSaleStock.withLiveQuantity(getSweetById(id));
+    }
+
+    public Sweet endFlashSale(Long id) {
+        flashSaleStock.leave(id);
+        return findSweet(id);
+    }
+
+    // Absolute writes would race the in-memory counter, so hot sweets only accept purchases and restocks.
+    // Callers check after flushing their write: enter() then either reads the committed row or is seen here.
+    private void rejectIfHot(Long id) {
+        if (flashSaleStock.isHot(id)) {
+            throw new ConflictException("Sweet is in flash-sale mode with id: " + id);
+        }
+    }
+
+    // Mutations always start from the database row, never from the shared replica instance
+    private Sweet findSweet(Long id) {
+        return sweetRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Sweet not found with id: " + id));
+    }
+
+    // Listeners run after commit, so in-memory views never see rolled-back changes
+    private void publish(ChangeType type, Sweet sweet) {
+        eventPublisher.publishEvent(new SweetChangedEvent(type, sweet));
+    }
+
+    private void publishBulk(String operation, int affectedRows) {
+        publishBulk(new CatalogBulkChangedEvent(operation, affectedRows));
+    }
+
+    private void publishBulk(CatalogBulkChangedEvent event) {
+        if (event.getAffectedRows() > 0) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit <= 0) {
+            throw new RuntimeException("Limit must be a positive number");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private CursorPage<SweetView> loadPage(List<Long> ids, int pageSize) {
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        return new CursorPage<>(loadViews(pageIds), hasMore ? encodeCursor(pageIds.get(pageSize - 1)) : null);
+    }
+
+    // Views in the order of ids, from the replica where possible; ids deleted meanwhile are skipped
+    private List<SweetView> loadViews(List<Long> ids) {
+        Map<Long, SweetView> byId = new HashMap<>(ids.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            catalogReplica.findById(id).ifPresentOrElse(sweet -> byId.put(id, SweetView.from(sweet)), () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            sweetRepository.findViewsByIdIn(missing).forEach(view -> byId.put(view.id(), view));
+        }
+        List<SweetView> sweets = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            SweetView view = byId.get(id);
+            if (view != null) {
+                sweets.add(view);
+            }
+        }
+        return sweets;
+    }
+
+    // One extra row is fetched to tell whether another page follows
+    private CursorPage<SweetView> toPage(List<SweetView> sweets, int pageSize) {
+        if (sweets.size() <= pageSize) {
+            return new CursorPage<>(sweets, null);
+        }
+        List<SweetView> items = sweets.subList(0, pageSize);
+        return new CursorPage<>(items, encodeCursor(items.get(pageSize - 1).id()));
+    }
+
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String encodePriceCursor(PriceKey key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key.cents() + ":" + key.id()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PriceKey decodePriceCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            return new PriceKey(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -4,11 +4,11 @@
 -- INSERT INTO user_roles (user_id, role) VALUES (1, 'ADMIN');
 
 -- Sample sweets data (optional - will be created via API)
-INSERT INTO sweets (name, category, price, quantity) VALUES
-('Chocolate Bar', 'Chocolate', 5.99, 50),
-('Lollipop', 'Candy', 2.50, 100),
-('Gummy Bears', 'Gummies', 4.99, 75),
-('Marshmallow', 'Soft Candy', 3.99, 60),
-('Hard Candy', 'Candy', 1.99, 200)
+INSERT INTO sweets (id, name, category, price, quantity, version) VALUES
+(nextval('sweets_seq'), 'Chocolate Bar', 'Chocolate', 5.99, 50, 0),
+(nextval('sweets_seq'), 'Lollipop', 'Candy', 2.50, 100, 0),
+(nextval('sweets_seq'), 'Gummy Bears', 'Gummies', 4.99, 75, 0),
+(nextval('sweets_seq'), 'Marshmallow', 'Soft Candy', 3.99, 60, 0),
+(nextval('sweets_seq'), 'Hard Candy', 'Candy', 1.99, 200, 0)
 ON CONFLICT DO NOTHING;
 
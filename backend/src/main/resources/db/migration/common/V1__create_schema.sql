@@ -0,0 +1,31 @@
+-- Baseline schema. IF NOT EXISTS lets this run against databases that were
+-- previously created by hibernate.ddl-auto=update (see V1_1 for PostgreSQL).
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    -- The unique indexes also serve findByUsername / findByEmail
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT       NOT NULL,
+    role    VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_user_roles PRIMARY KEY (user_id, role),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Matches @SequenceGenerator(allocationSize = 50) on Sweet
+CREATE SEQUENCE IF NOT EXISTS sweets_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS sweets (
+    id       BIGINT         NOT NULL PRIMARY KEY,
+    name     VARCHAR(255)   NOT NULL,
+    category VARCHAR(255)   NOT NULL,
+    price    NUMERIC(10, 2) NOT NULL,
+    quantity INTEGER        NOT NULL,
+    version  BIGINT         NOT NULL
+);
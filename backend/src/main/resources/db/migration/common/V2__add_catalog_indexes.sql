@@ -0,0 +1,6 @@
+-- Equality on category: findByCategory, adjustPriceByCategory and the
+-- per-category stock gauge.
+CREATE INDEX IF NOT EXISTS idx_sweets_category ON sweets (category);
+
+-- Range filters on price in searchSweets.
+CREATE INDEX IF NOT EXISTS idx_sweets_price ON sweets (price);
@@ -0,0 +1,4 @@
+-- Price-sorted search pages by the (price, id) keyset; the composite index
+-- serves that order and still answers plain price ranges.
+DROP INDEX IF EXISTS idx_sweets_price;
+CREATE INDEX IF NOT EXISTS idx_sweets_price_id ON sweets (price, id);
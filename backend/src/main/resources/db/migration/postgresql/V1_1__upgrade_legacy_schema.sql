@@ -0,0 +1,20 @@
+-- Brings a schema created by hibernate.ddl-auto=update up to V1. Every
+-- statement is a no-op on a database that V1 created.
+
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE sweets SET version = 0 WHERE version IS NULL;
+ALTER TABLE sweets ALTER COLUMN version SET NOT NULL;
+
+-- Ids used to come from an identity column; start the pooled sequence past them
+SELECT setval('sweets_seq', max(id)) FROM sweets HAVING max(id) IS NOT NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_users_username') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_users_email') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+    END IF;
+END
+$$;
@@ -0,0 +1,12 @@
+-- searchSweets filters on LOWER(name) / LOWER(category) LIKE '%term%'. A
+-- leading wildcard defeats B-tree indexes; trigram GIN indexes on the same
+-- expressions serve it. Needs the pg_trgm extension (contrib), which the
+-- migration user must be allowed to create.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_sweets_lower_name_trgm ON sweets USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sweets_lower_category_trgm ON sweets USING gin (lower(category) gin_trgm_ops);
+
+-- Exact and prefix matches on the lower-cased name (text_pattern_ops keeps
+-- LIKE 'term%' indexable under non-C collations).
+CREATE INDEX IF NOT EXISTS idx_sweets_lower_name ON sweets (lower(name) text_pattern_ops);
@@ -0,0 +1,334 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incubyte.sweetshop.catalog.CatalogReplica;
+import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.entity.User;
+import com.incubyte.sweetshop.repository.UserRepository;
+import com.incubyte.sweetshop.search.SweetSearchIndex;
+import com.incubyte.sweetshop.service.SweetService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a weighted mix of login, list, search, purchase and restock traffic
+ * over real HTTP with real JWTs against the app on a random port, then reports
+ * throughput and p50/p99/p999 per endpoint and fails when a p99 budget is
+ * exceeded or any request errors. Run with
+ * {@code mvn test -Pbenchmark -Dtest=ApiLoadTestBenchmark}; tune with
+ * {@code -Dloadtest.clients}, {@code -Dloadtest.duration-seconds},
+ * {@code -Dloadtest.warmup-seconds}, {@code -Dloadtest.mix=login=2,list=35,...}
+ * and {@code -Dloadtest.budget.<endpoint>.p99-ms}. The default budgets are
+ * sized for a single-core CI runner; tighten them on real hardware. Compare
+ * server threading modes with {@code -Dspring.threads.virtual.enabled=true|false}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiLoadTestBenchmark {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final int CATALOG_SIZE = 5_000;
+    private static final int HOT_SWEETS = 20;
+    private static final int MAX_USERS = 32;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    enum Endpoint {
+        LOGIN(2, 3_000),
+        LIST(35, 500),
+        SEARCH(35, 500),
+        PURCHASE(20, 1_000),
+        RESTOCK(8, 1_000);
+
+        private final int defaultWeight;
+        private final long defaultP99BudgetMs;
+
+        Endpoint(int defaultWeight, long defaultP99BudgetMs) {
+            this.defaultWeight = defaultWeight;
+            this.defaultP99BudgetMs = defaultP99BudgetMs;
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetSearchIndex searchIndex;
+
+    @Autowired
+    private CatalogReplica catalogReplica;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final List<Long> hotSweetIds = new ArrayList<>();
+    private String adminToken;
+
+    @AfterEach
+    void tearDown() {
+        CatalogFixtures.clear(jdbcTemplate);
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void mixedTrafficStaysWithinLatencyBudgets() throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 8);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("loadtest.warmup-seconds", 5));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("loadtest.duration-seconds", 15));
+        int[] cumulativeWeights = cumulativeWeights(parseMix(System.getProperty("loadtest.mix", "")));
+
+        int users = Math.min(clients, MAX_USERS);
+        seed(users);
+        adminToken = login("loadadmin");
+        List<String> tokens = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            tokens.add(login("loaduser" + u));
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+
+        // Clients are virtual threads so the harness itself can hold thousands of blocking requests
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            long warmupEnd = System.nanoTime() + warmupNanos;
+            long end = warmupEnd + durationNanos;
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                String username = "loaduser" + (c % users);
+                String token = tokens.get(c % users);
+                futures.add(executor.submit(() -> {
+                    runClient(username, token, cumulativeWeights, warmupEnd, end);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.printf("%d clients, server on %s threads%n", clients, virtualThreads ? "virtual" : "platform");
+        report(durationNanos);
+        assertWithinBudgets();
+    }
+
+    private void runClient(String username, String token, int[] cumulativeWeights, long warmupEnd, long end)
+            throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Endpoint endpoint = pick(cumulativeWeights, random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]));
+            HttpRequest request = buildRequest(endpoint, username, token, random);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                // Timeouts and resets count as failed requests rather than aborting the run
+                status = -1;
+            }
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (now < warmupEnd) {
+                continue;
+            }
+            latencies.get(endpoint).recordValue(Math.min(elapsedMicros, HIGHEST_TRACKABLE_MICROS));
+            if (status / 100 != 2) {
+                errors.get(endpoint).increment();
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint, String username, String token, ThreadLocalRandom random)
+            throws Exception {
+        Long sweetId = hotSweetIds.get(random.nextInt(hotSweetIds.size()));
+        return switch (endpoint) {
+            case LOGIN -> json(URI.create(baseUrl() + "/api/auth/login"), null,
+                    Map.of("username", username, "password", PASSWORD));
+            case LIST -> authorized(URI.create(baseUrl() + "/api/sweets?limit=20"), token).GET().build();
+            case SEARCH -> authorized(URI.create(baseUrl() + "/api/sweets/search?name="
+                    + CatalogFixtures.FLAVOURS[random.nextInt(CatalogFixtures.FLAVOURS.length)]
+                    + "&limit=20"), token).GET().build();
+            case PURCHASE -> authorized(URI.create(baseUrl() + "/api/sweets/" + sweetId + "/purchase"), token)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            case RESTOCK -> json(URI.create(baseUrl() + "/api/sweets/" + sweetId + "/restock"),
+                    adminToken, Map.of("quantity", 10));
+        };
+    }
+
+    private String login(String username) throws Exception {
+        HttpRequest request = json(URI.create(baseUrl() + "/api/auth/login"), null,
+                Map.of("username", username, "password", PASSWORD));
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest json(URI uri, String token, Object body) throws Exception {
+        return authorized(uri, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(URI uri, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private void seed(int users) {
+        CatalogFixtures.load(jdbcTemplate, CATALOG_SIZE);
+        for (int i = 0; i < HOT_SWEETS; i++) {
+            SweetRequest request = new SweetRequest();
+            request.setName("Load Test Sweet " + i);
+            request.setCategory("Load Test");
+            request.setPrice(new BigDecimal("1.50"));
+            request.setQuantity(1_000_000);
+            hotSweetIds.add(sweetService.createSweet(request).getId());
+        }
+        searchIndex.rebuild();
+        catalogReplica.reload();
+
+        String encoded = passwordEncoder.encode(PASSWORD);
+        for (int c = 0; c < users; c++) {
+            userRepository.save(new User("loaduser" + c, "loaduser" + c + "@example.com", encoded));
+        }
+        User admin = new User("loadadmin", "loadadmin@example.com", encoded);
+        admin.getRoles().add(User.Role.ADMIN);
+        userRepository.save(admin);
+    }
+
+    private void report(long durationNanos) {
+        double seconds = durationNanos / 1e9;
+        System.out.printf("%-9s %8s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            total += histogram.getTotalCount();
+            System.out.printf("%-9s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    endpoint.key(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(99) / 1e3,
+                    histogram.getValueAtPercentile(99.9) / 1e3, histogram.getMaxValue() / 1e3,
+                    errors.get(endpoint).sum());
+        }
+        System.out.printf("total %.1f req/s%n", total / seconds);
+    }
+
+    private void assertWithinBudgets() {
+        List<String> violations = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long budgetMs = Long.getLong("loadtest.budget." + endpoint.key() + ".p99-ms", endpoint.defaultP99BudgetMs);
+            double p99Ms = histogram.getValueAtPercentile(99) / 1e3;
+            if (p99Ms > budgetMs) {
+                violations.add(String.format("%s p99 %.2f ms > %d ms", endpoint.key(), p99Ms, budgetMs));
+            }
+            if (errors.get(endpoint).sum() > 0) {
+                violations.add(endpoint.key() + " had " + errors.get(endpoint).sum() + " failed requests");
+            }
+        }
+        assertTrue(violations.isEmpty(), String.join("; ", violations));
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            weights.put(endpoint, endpoint.defaultWeight);
+        }
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static int[] cumulativeWeights(Map<Endpoint, Integer> weights) {
+        int[] cumulative = new int[Endpoint.values().length];
+        int sum = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            sum += weights.get(endpoint);
+            cumulative[endpoint.ordinal()] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("loadtest.mix must have at least one positive weight");
+        }
+        return cumulative;
+    }
+
+    private static Endpoint pick(int[] cumulativeWeights, int roll) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return Endpoint.values()[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,46 @@
+package com.incubyte.sweetshop.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic catalogs for the benchmarks and bulk-loads them with
+ * plain JDBC batches, bypassing JPA so large sizes load quickly.
+ */
+final class CatalogFixtures {
+
+    static final String[] FLAVOURS = {"Chocolate", "Strawberry", "Mint", "Caramel", "Lemon", "Vanilla",
+            "Raspberry", "Toffee", "Coconut", "Hazelnut", "Cherry", "Orange", "Liquorice", "Honey"};
+    static final String[] SHAPES = {"Bar", "Drops", "Bears", "Twist", "Lollipop", "Fudge", "Truffle",
+            "Buttons", "Chews", "Swirl", "Crunch", "Bites"};
+    static final String[] CATEGORIES = {"Chocolate", "Candy", "Gummies", "Soft Candy", "Hard Candy",
+            "Toffee", "Mints", "Seasonal"};
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private CatalogFixtures() {
+    }
+
+    static void load(JdbcTemplate jdbcTemplate, int size) {
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < size; i++) {
+            String name = FLAVOURS[random.nextInt(FLAVOURS.length)] + " " + SHAPES[random.nextInt(SHAPES.length)] + " " + i;
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(5_000), 2);
+            batch.add(new Object[]{name, category, price, random.nextInt(500)});
+            if (batch.size() == BATCH_SIZE || i == size - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO sweets (id, name, category, price, quantity, version) VALUES (nextval('sweets_seq'), ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    static void clear(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DELETE FROM sweets");
+    }
+}
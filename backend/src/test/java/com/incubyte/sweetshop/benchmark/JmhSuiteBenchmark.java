@@ -0,0 +1,31 @@
+package com.incubyte.sweetshop.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs every JMH benchmark in this package and writes the results as JSON so
+ * runs can be compared. Run with {@code mvn test -Pbenchmark -Dtest=JmhSuiteBenchmark};
+ * narrow it with {@code -Djmh.include=<regex>} and redirect the output with
+ * {@code -Djmh.result=<file>} (default {@code target/jmh-result.json}).
+ */
+class JmhSuiteBenchmark {
+
+    @Test
+    @Tag("benchmark")
+    void runAll() throws Exception {
+        File result = new File(System.getProperty("jmh.result", "target/jmh-result.json"));
+        result.getAbsoluteFile().getParentFile().mkdirs();
+        new Runner(new OptionsBuilder()
+                .include(System.getProperty("jmh.include", getClass().getPackageName() + ".*"))
+                .result(result.getPath())
+                .resultFormat(ResultFormatType.JSON)
+                .shouldFailOnError(true)
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.incubyte.sweetshop.entity.User;
+import com.incubyte.sweetshop.repository.UserRepository;
+import com.incubyte.sweetshop.security.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requests/sec on an authenticated catalog read when the filter trusts the
+ * roles embedded in the token versus reloading the user for every request
+ * (as it did before, and still does for tokens without a roles claim).
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationBenchmark {
+
+    private static final int REQUESTS = 5_000;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void compareClaimsWithPerRequestUserLookup() throws Exception {
+        User user = userRepository.save(new User("benchuser", "bench@example.com", "encodedPassword"));
+        String statelessToken = jwtTokenProvider.generateToken(user);
+        UserDetails userDetails = userDetailsService.loadUserByUsername("benchuser");
+        String legacyToken = Jwts.builder()
+                .subject(userDetails.getUsername())
+                .expiration(jwtTokenProvider.verifyToken(statelessToken).getExpiration())
+                .signWith(Keys.hmacShaKeyFor(
+                        jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            double legacy = requestsPerSecond(legacyToken);
+            double stateless = requestsPerSecond(statelessToken);
+            System.out.printf("round %d: user lookup %.0f req/s, claims only %.0f req/s (%.2fx)%n",
+                    round, legacy, stateless, stateless / legacy);
+        }
+    }
+
+    private double requestsPerSecond(String token) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(get("/api/sweets").param("limit", "1").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+        return REQUESTS * 1e9 / (System.nanoTime() - start);
+    }
+}
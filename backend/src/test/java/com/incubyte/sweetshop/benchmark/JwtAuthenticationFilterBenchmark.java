@@ -0,0 +1,67 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.incubyte.sweetshop.entity.User;
+import com.incubyte.sweetshop.security.JwtAuthenticationFilter;
+import com.incubyte.sweetshop.security.JwtTokenProvider;
+import com.incubyte.sweetshop.security.UserAuthoritiesCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link JwtAuthenticationFilter} for one authenticated
+ * request: header extraction, verification and building the security context.
+ * Run through {@link JmhSuiteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider("benchmark-secret-key-for-the-sweet-shop-min-256-bits", 3_600_000L, new SimpleMeterRegistry());
+        UserDetailsService userDetailsService = username -> {
+            throw new IllegalStateException("Stateless tokens must not trigger a user lookup");
+        };
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, new UserAuthoritiesCache(userDetailsService));
+
+        User user = new User("benchuser", "bench@example.com", "encodedPassword");
+        user.setId(1L);
+        authorization = "Bearer " + jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public Authentication authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/sweets");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
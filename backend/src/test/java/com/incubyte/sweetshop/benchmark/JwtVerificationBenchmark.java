@@ -0,0 +1,67 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.incubyte.sweetshop.entity.User;
+import com.incubyte.sweetshop.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification cost: the old filter path (three full parses,
+ * each rebuilding the key and parser) against one {@link JwtTokenProvider#verifyToken}.
+ * Run through {@link JmhSuiteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-the-sweet-shop-min-256-bits";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, new SimpleMeterRegistry());
+        User user = new User("benchuser", "bench@example.com", "encodedPassword");
+        user.setId(1L);
+        token = jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean rebuildKeyAndParseThreeTimes() {
+        String username = parseWithFreshParser(token).getSubject();
+        boolean sameUser = parseWithFreshParser(token).getSubject().equals(username);
+        return sameUser && parseWithFreshParser(token).getExpiration().after(new Date());
+    }
+
+    @Benchmark
+    public Claims verifyOnce() {
+        return jwtTokenProvider.verifyToken(token);
+    }
+
+    private static Claims parseWithFreshParser(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
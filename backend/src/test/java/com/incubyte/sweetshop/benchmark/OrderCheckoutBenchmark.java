@@ -0,0 +1,70 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.incubyte.sweetshop.dto.OrderItemRequest;
+import com.incubyte.sweetshop.dto.OrderRequest;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares checking out an 8-item basket through the batched
+ * {@link SweetService#checkout} against one purchase call per item.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class OrderCheckoutBenchmark {
+
+    private static final int BASKET_SIZE = 8;
+    private static final int BASKETS = 2_000;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void comparePerItemLoopWithBatchedCheckout() {
+        List<OrderItemRequest> basket = new ArrayList<>();
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            Sweet sweet = sweetRepository.save(new Sweet(null, "Item " + i, "Bench", new BigDecimal("1.00"), Integer.MAX_VALUE));
+            basket.add(new OrderItemRequest(sweet.getId(), 1 + i % 3));
+        }
+        OrderRequest order = new OrderRequest(basket);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long loopStart = System.nanoTime();
+            for (int i = 0; i < BASKETS; i++) {
+                for (OrderItemRequest item : basket) {
+                    sweetService.purchaseSweet(item.getSweetId(), item.getQuantity());
+                }
+            }
+            long loopNanos = System.nanoTime() - loopStart;
+
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < BASKETS; i++) {
+                sweetService.checkout(order);
+            }
+            long batchNanos = System.nanoTime() - batchStart;
+
+            System.out.printf("round %d: per-item loop %.0f baskets/sec, batched checkout %.0f baskets/sec%n",
+                    round, BASKETS * 1e9 / loopNanos, BASKETS * 1e9 / batchNanos);
+        }
+    }
+}
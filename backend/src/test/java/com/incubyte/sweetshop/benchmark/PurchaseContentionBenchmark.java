@@ -0,0 +1,132 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.service.SweetService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single hot SKU from many threads and compares the old
+ * read-check-save purchase (unlocked and with SELECT ... FOR UPDATE)
+ * against the guarded UPDATE in {@link SweetService}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class PurchaseContentionBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int PURCHASES_PER_THREAD = 500;
+    private static final int INITIAL_STOCK = THREADS * PURCHASES_PER_THREAD / 2;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void compareReadModifyWriteWithGuardedUpdate() throws Exception {
+        LongConsumer readModifyWrite = id -> transactionTemplate.executeWithoutResult(status -> {
+            Sweet sweet = sweetService.getSweetById(id);
+            if (sweet.getQuantity() <= 0) {
+                throw new RuntimeException("Sweet is out of stock");
+            }
+            sweet.setQuantity(sweet.getQuantity() - 1);
+            sweetRepository.save(sweet);
+        });
+        LongConsumer lockedReadModifyWrite = id -> transactionTemplate.executeWithoutResult(status -> {
+            Sweet sweet = entityManager.find(Sweet.class, id, LockModeType.PESSIMISTIC_WRITE);
+            if (sweet.getQuantity() <= 0) {
+                throw new RuntimeException("Sweet is out of stock");
+            }
+            sweet.setQuantity(sweet.getQuantity() - 1);
+        });
+        LongConsumer guardedUpdate = sweetService::purchaseSweet;
+
+        // Warm up every path so the measured rounds run on compiled code
+        run("warmup", readModifyWrite);
+        run("warmup", lockedReadModifyWrite);
+        run("warmup", guardedUpdate);
+
+        Result unlocked = run("read-modify-write", readModifyWrite);
+        Result locked = run("select-for-update", lockedReadModifyWrite);
+        Result guarded = run("guarded-update", guardedUpdate);
+
+        assertTrue(unlocked.oversold() > 0, "unlocked read-modify-write is expected to lose updates");
+        assertEquals(0, locked.oversold());
+        assertEquals(0, guarded.oversold());
+        assertEquals(INITIAL_STOCK, guarded.sold);
+        assertEquals(0, guarded.remaining);
+    }
+
+    private Result run(String label, LongConsumer purchase) throws Exception {
+        Long id = sweetRepository.save(new Sweet(null, "Hot " + label, "Bench", new BigDecimal("1.00"), INITIAL_STOCK)).getId();
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PURCHASES_PER_THREAD; i++) {
+                    try {
+                        purchase.accept(id);
+                        sold.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // out of stock
+                    }
+                }
+                return null;
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsed = System.nanoTime() - begin;
+
+        int remaining = sweetRepository.findById(id).orElseThrow().getQuantity();
+        Result result = new Result(sold.get(), remaining, elapsed);
+        System.out.printf("%-18s sold=%d remaining=%d oversold=%d purchases/sec=%.0f%n",
+                label, result.sold, result.remaining, result.oversold(), result.purchasesPerSecond());
+        return result;
+    }
+
+    private record Result(int sold, int remaining, long elapsedNanos) {
+        int oversold() {
+            return sold - (INITIAL_STOCK - remaining);
+        }
+
+        double purchasesPerSecond() {
+            return (INITIAL_STOCK - remaining) * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
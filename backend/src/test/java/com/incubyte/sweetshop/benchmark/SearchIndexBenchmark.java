@@ -0,0 +1,92 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.incubyte.sweetshop.dto.SweetView;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.search.SweetSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the SQL LIKE search with the in-memory trigram index on first-page
+ * queries (limit 21, as the API issues them). Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class SearchIndexBenchmark {
+
+    private static final int PAGE = 21;
+    private static final int ITERATIONS = 20;
+
+    private static final Object[][] QUERIES = {
+            {"hazelnut truffle", null, null, null},
+            {"liquorice", "mint", null, null},
+            {"bites 99", null, null, null},
+            {null, "seasonal", new BigDecimal("49.00"), null},
+            {"xyz", null, null, null},
+    };
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private SweetSearchIndex sweetSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        CatalogFixtures.clear(jdbcTemplate);
+        sweetSearchIndex.rebuild();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000})
+    void compareSqlLikeWithTrigramIndex(int catalogSize) {
+        CatalogFixtures.load(jdbcTemplate, catalogSize);
+        long buildStart = System.nanoTime();
+        sweetSearchIndex.rebuild();
+        System.out.printf("catalog=%d index build %.1f s%n", catalogSize, (System.nanoTime() - buildStart) / 1e9);
+
+        for (Object[] query : QUERIES) {
+            List<Long> expected = sql(query).stream().toList();
+            assertEquals(expected, index(query), "index and SQL must agree");
+
+            long sqlStart = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sql(query);
+            }
+            double sqlMicros = (System.nanoTime() - sqlStart) / 1e3 / ITERATIONS;
+
+            long indexStart = System.nanoTime();
+            for (int i = 0; i < ITERATIONS * 100; i++) {
+                index(query);
+            }
+            double indexMicros = (System.nanoTime() - indexStart) / 1e3 / (ITERATIONS * 100);
+
+            System.out.printf("catalog=%d name=%s category=%s minPrice=%s hits=%d sql=%.0f us index=%.1f us%n",
+                    catalogSize, query[0], query[1], query[2], expected.size(), sqlMicros, indexMicros);
+        }
+    }
+
+    private List<Long> sql(Object[] query) {
+        return sweetRepository.searchSweets((String) query[0], (String) query[1], (BigDecimal) query[2],
+                (BigDecimal) query[3], 0L, Limit.of(PAGE)).stream().map(SweetView::id).toList();
+    }
+
+    private List<Long> index(Object[] query) {
+        return sweetSearchIndex.search((String) query[0], (String) query[1], (BigDecimal) query[2],
+                (BigDecimal) query[3], 0L, PAGE);
+    }
+}
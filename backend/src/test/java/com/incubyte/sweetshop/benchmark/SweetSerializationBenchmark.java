@@ -0,0 +1,77 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incubyte.sweetshop.dto.SweetView;
+import com.incubyte.sweetshop.entity.Sweet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the catalog at several sizes, using an ObjectMapper
+ * configured the way Spring MVC builds its own: entities, read-model records,
+ * and the cost of handing out already serialized bytes.
+ * Run through {@link JmhSuiteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SweetSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private List<Sweet> sweets;
+    private List<SweetView> views;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new Jackson2ObjectMapperBuilder().build();
+        Random random = new Random(42);
+        sweets = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            sweets.add(new Sweet((long) i + 1,
+                    CatalogFixtures.FLAVOURS[random.nextInt(CatalogFixtures.FLAVOURS.length)] + " " + i,
+                    CatalogFixtures.CATEGORIES[random.nextInt(CatalogFixtures.CATEGORIES.length)],
+                    BigDecimal.valueOf(50 + random.nextInt(5_000), 2),
+                    random.nextInt(500)));
+        }
+        views = sweets.stream().map(SweetView::from).toList();
+        serialized = objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog() throws Exception {
+        return objectMapper.writeValueAsBytes(sweets);
+    }
+
+    @Benchmark
+    public byte[] serializeViews() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] copySerialized() {
+        return serialized.clone();
+    }
+}
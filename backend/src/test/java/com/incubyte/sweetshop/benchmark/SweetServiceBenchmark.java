@@ -0,0 +1,83 @@
+package com.incubyte.sweetshop.benchmark;
+
+import com.incubyte.sweetshop.SweetShopApplication;
+import com.incubyte.sweetshop.dto.CursorPage;
+import com.incubyte.sweetshop.dto.SearchRequest;
+import com.incubyte.sweetshop.dto.SweetView;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.search.SweetSearchIndex;
+import com.incubyte.sweetshop.service.SweetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SweetService} search and purchase paths against the embedded H2
+ * database from the test configuration. Run through {@link JmhSuiteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class SweetServiceBenchmark {
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private SweetService sweetService;
+    private SearchRequest searchRequest;
+    private Long hotSweetId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SweetShopApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        sweetService = context.getBean(SweetService.class);
+
+        CatalogFixtures.load(context.getBean(JdbcTemplate.class), catalogSize);
+        hotSweetId = context.getBean(SweetRepository.class)
+                .save(new Sweet(null, "Hot Item", "Bench", new BigDecimal("1.00"), Integer.MAX_VALUE)).getId();
+        context.getBean(SweetSearchIndex.class).rebuild();
+
+        searchRequest = new SearchRequest();
+        searchRequest.setName("caramel");
+        searchRequest.setCategory("candy");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<SweetView> searchSweets() {
+        return sweetService.searchSweets(searchRequest, null, 20);
+    }
+
+    @Benchmark
+    public Sweet purchaseSweet() {
+        return sweetService.purchaseSweet(hotSweetId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent.ChangeType;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogReplicaTest {
+
+    @Mock
+    private SweetRepository sweetRepository;
+
+    @InjectMocks
+    private CatalogReplica catalogReplica;
+
+    @BeforeEach
+    void setUp() {
+        when(sweetRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 50),
+                new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 100)
+        ));
+        catalogReplica.reload();
+    }
+
+    @Test
+    void testReadsServedFromSnapshot() {
+        // When
+        Sweet sweet = catalogReplica.findById(3L).orElseThrow();
+        List<Sweet> page = catalogReplica.findPage(1L, 10).orElseThrow();
+
+        // Then
+        assertEquals("Lollipop", sweet.getName());
+        assertEquals(List.of(3L), page.stream().map(Sweet::getId).toList());
+        assertTrue(catalogReplica.findById(2L).isEmpty());
+        assertEquals(2, catalogReplica.getHits());
+        assertEquals(1, catalogReplica.getMisses());
+        verify(sweetRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void testChangesSwapInNewSnapshot() {
+        // Given
+        List<Sweet> before = catalogReplica.findAll().orElseThrow();
+
+        // When
+        catalogReplica.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(2L, "Gummy Bears", "Gummies", new BigDecimal("4.99"), 75)));
+        catalogReplica.onSweetChanged(new SweetChangedEvent(ChangeType.STOCK_CHANGED, new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 49)));
+        catalogReplica.onSweetChanged(new SweetChangedEvent(ChangeType.DELETED, new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 100)));
+
+        // Then
+        assertEquals(List.of(1L, 2L), catalogReplica.findAll().orElseThrow().stream().map(Sweet::getId).toList());
+        assertEquals(49, catalogReplica.findById(1L).orElseThrow().getQuantity());
+        assertEquals(50, before.get(0).getQuantity());
+        assertEquals(List.of(1L, 3L), before.stream().map(Sweet::getId).toList());
+    }
+
+    @Test
+    void testReloadDoesNotBlockWritersAndReplaysTheirChanges() throws Exception {
+        // Given: a sweet is deleted on another thread while the reload is reading
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        when(sweetRepository.findAll(any(Sort.class))).thenAnswer(invocation -> {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> executor.submit(() ->
+                    catalogReplica.onSweetChanged(new SweetChangedEvent(ChangeType.DELETED,
+                            new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 100)))).get());
+            return List.of(
+                    new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 50),
+                    new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 100)
+            );
+        });
+
+        // When
+        catalogReplica.reload();
+        executor.shutdown();
+
+        // Then
+        assertEquals(List.of(1L), catalogReplica.findAll().orElseThrow().stream().map(Sweet::getId).toList());
+    }
+
+    @Test
+    void testPeekAllIsNotCountedAsARead() {
+        // When
+        List<Sweet> sweets = catalogReplica.peekAll().orElseThrow();
+
+        // Then
+        assertEquals(List.of(1L, 3L), sweets.stream().map(Sweet::getId).toList());
+        assertEquals(0, catalogReplica.getHits());
+        assertEquals(0, catalogReplica.getMisses());
+    }
+
+    @Test
+    void testStaleSnapshotIsNotServed() {
+        // Given
+        ReflectionTestUtils.setField(catalogReplica, "maxStalenessMs", -1L);
+
+        // When & Then
+        assertTrue(catalogReplica.findById(1L).isEmpty());
+        assertTrue(catalogReplica.findAll().isEmpty());
+        assertTrue(catalogReplica.peekAll().isEmpty());
+        assertEquals(2, catalogReplica.getMisses());
+    }
+}
@@ -0,0 +1,89 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent.ChangeType;
+import com.incubyte.sweetshop.search.SweetSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+
+/**
+ * The catalog version must move only after every in-memory view has applied a
+ * change, otherwise a request in between caches the old body under the new ETag.
+ */
+@SpringBootTest
+class CatalogVersionOrderTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @SpyBean
+    private CatalogVersion catalogVersion;
+
+    @SpyBean
+    private CatalogReplica catalogReplica;
+
+    @SpyBean
+    private SweetSearchIndex sweetSearchIndex;
+
+    @SpyBean
+    private SweetNearCache sweetNearCache;
+
+    @SpyBean
+    private CategoryFacets categoryFacets;
+
+    @Test
+    void testVersionBumpsAfterViewsOnCommit() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(deletedUnknownSweet()));
+
+        // Then
+        assertViewsThenVersion();
+    }
+
+    @Test
+    void testVersionBumpsAfterViewsWithoutTransaction() {
+        // When
+        eventPublisher.publishEvent(deletedUnknownSweet());
+
+        // Then
+        assertViewsThenVersion();
+    }
+
+    private void assertViewsThenVersion() {
+        InOrder replicaFirst = inOrder(catalogReplica, catalogVersion);
+        replicaFirst.verify(catalogReplica).onSweetChanged(any());
+        replicaFirst.verify(catalogVersion).onSweetChanged(any());
+
+        InOrder indexFirst = inOrder(sweetSearchIndex, catalogVersion);
+        indexFirst.verify(sweetSearchIndex).onSweetChanged(any());
+        indexFirst.verify(catalogVersion).onSweetChanged(any());
+
+        InOrder cacheFirst = inOrder(sweetNearCache, catalogVersion);
+        cacheFirst.verify(sweetNearCache).onSweetChanged(any());
+        cacheFirst.verify(catalogVersion).onSweetChanged(any());
+
+        InOrder facetsFirst = inOrder(categoryFacets, catalogVersion);
+        facetsFirst.verify(categoryFacets).onSweetChanged(any());
+        facetsFirst.verify(catalogVersion).onSweetChanged(any());
+    }
+
+    // Removing an id that does not exist leaves every view unchanged for the other tests
+    private static SweetChangedEvent deletedUnknownSweet() {
+        return new SweetChangedEvent(ChangeType.DELETED,
+                new Sweet(Long.MAX_VALUE, "Ghost", "None", new BigDecimal("1.00"), 0, 0L));
+    }
+}
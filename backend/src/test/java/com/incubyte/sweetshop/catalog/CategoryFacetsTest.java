@@ -0,0 +1,130 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.incubyte.sweetshop.dto.CategoryFacet;
+import com.incubyte.sweetshop.dto.SweetView;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent.ChangeType;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryFacetsTest {
+
+    @Mock
+    private SweetRepository sweetRepository;
+
+    @InjectMocks
+    private CategoryFacets categoryFacets;
+
+    @BeforeEach
+    void setUp() {
+        when(sweetRepository.findViewsByOrderByIdAsc()).thenReturn(List.of(
+                new SweetView(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 50, 0L),
+                new SweetView(2L, "Truffle", "Chocolate", new BigDecimal("2.00"), 10, 0L),
+                new SweetView(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 100, 0L)
+        ));
+        categoryFacets.rebuild();
+    }
+
+    @Test
+    void testRebuild_AggregatesPerCategory() {
+        // When
+        List<CategoryFacet> facets = categoryFacets.facets().orElseThrow();
+
+        // Then
+        assertEquals(List.of(
+                new CategoryFacet("Candy", 1, 100, new BigDecimal("2.50"), new BigDecimal("2.50")),
+                new CategoryFacet("Chocolate", 2, 60, new BigDecimal("2.00"), new BigDecimal("5.99"))
+        ), facets);
+    }
+
+    @Test
+    void testChanges_MoveContributionsBetweenCategories() {
+        // When
+        categoryFacets.onSweetChanged(new SweetChangedEvent(ChangeType.STOCK_CHANGED,
+                new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 45, 1L)));
+        categoryFacets.onSweetChanged(new SweetChangedEvent(ChangeType.UPDATED,
+                new Sweet(2L, "Truffle", "Gourmet", new BigDecimal("3.00"), 10, 1L)));
+        categoryFacets.onSweetChanged(new SweetChangedEvent(ChangeType.DELETED,
+                new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 100, 0L)));
+        categoryFacets.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED,
+                new Sweet(4L, "Dark Bar", "Chocolate", new BigDecimal("7.50"), 5, 0L)));
+
+        // Then
+        assertEquals(List.of(
+                new CategoryFacet("Chocolate", 2, 50, new BigDecimal("5.99"), new BigDecimal("7.50")),
+                new CategoryFacet("Gourmet", 1, 10, new BigDecimal("3.00"), new BigDecimal("3.00"))
+        ), categoryFacets.facets().orElseThrow());
+    }
+
+    @Test
+    void testOnSweetChanged_IgnoresOlderVersion() {
+        // Given
+        categoryFacets.onSweetChanged(new SweetChangedEvent(ChangeType.STOCK_CHANGED,
+                new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 98, 2L)));
+
+        // When
+        categoryFacets.onSweetChanged(new SweetChangedEvent(ChangeType.STOCK_CHANGED,
+                new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 99, 1L)));
+
+        // Then
+        assertEquals(98, categoryFacets.facets().orElseThrow().get(0).totalStock());
+    }
+
+    @Test
+    void testOnCatalogBulkChanged_RebuildsFromDatabase() {
+        // Given
+        when(sweetRepository.findViewsByOrderByIdAsc()).thenReturn(List.of(
+                new SweetView(1L, "Chocolate Bar", "Chocolate", new BigDecimal("6.59"), 50, 1L)
+        ));
+
+        // When
+        categoryFacets.onCatalogBulkChanged(new CatalogBulkChangedEvent("price-adjustment", 2));
+
+        // Then
+        assertEquals(List.of(new CategoryFacet("Chocolate", 1, 50, new BigDecimal("6.59"), new BigDecimal("6.59"))),
+                categoryFacets.facets().orElseThrow());
+        verify(sweetRepository, times(2)).findViewsByOrderByIdAsc();
+    }
+
+    @Test
+    void testOnCatalogBulkChanged_AppliesStockOnlyChangesInPlace() {
+        // When
+        categoryFacets.onCatalogBulkChanged(new CatalogBulkChangedEvent("restock", 2, Map.of(2L, 5, 3L, 20)));
+        categoryFacets.onSweetChanged(new SweetChangedEvent(ChangeType.STOCK_CHANGED,
+                new Sweet(3L, "Lollipop", "Candy", new BigDecimal("2.50"), 119, 0L)));
+
+        // Then
+        assertEquals(List.of(
+                new CategoryFacet("Candy", 1, 120, new BigDecimal("2.50"), new BigDecimal("2.50")),
+                new CategoryFacet("Chocolate", 2, 65, new BigDecimal("2.00"), new BigDecimal("5.99"))
+        ), categoryFacets.facets().orElseThrow());
+        verify(sweetRepository, times(1)).findViewsByOrderByIdAsc();
+    }
+
+    @Test
+    void testRebuildFailure_KeepsCurrentFacets() {
+        // Given
+        when(sweetRepository.findViewsByOrderByIdAsc()).thenThrow(new RuntimeException("connection refused"));
+
+        // When
+        categoryFacets.rebuild();
+
+        // Then
+        assertEquals(2, categoryFacets.facets().orElseThrow().size());
+    }
+}
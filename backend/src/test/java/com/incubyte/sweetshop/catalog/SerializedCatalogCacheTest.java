@@ -0,0 +1,64 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incubyte.sweetshop.dto.CursorPage;
+import com.incubyte.sweetshop.dto.SweetView;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedCatalogCacheTest {
+
+    private final SerializedCatalogCache cache = new SerializedCatalogCache(new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<CursorPage<SweetView>> page = () -> {
+        loads.incrementAndGet();
+        return new CursorPage<>(List.of(new SweetView(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 10, 0L)), null);
+    };
+
+    @Test
+    void testGet_ReusesBytesForTheSameVersion() {
+        // When
+        byte[] first = cache.get("\"a-1\"", "null|null", page);
+        byte[] second = cache.get("\"a-1\"", "null|null", page);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"name\":\"Chocolate Bar\""));
+    }
+
+    @Test
+    void testGet_NewVersionDropsOldPages() {
+        // Given
+        byte[] first = cache.get("\"a-1\"", "null|null", page);
+
+        // When
+        byte[] second = cache.get("\"a-2\"", "null|null", page);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_StopsCachingBeyondMaxPages() {
+        // Given
+        ReflectionTestUtils.setField(cache, "maxPages", 1);
+        cache.get("\"a-1\"", "null|10", page);
+
+        // When
+        cache.get("\"a-1\"", "null|20", page);
+        cache.get("\"a-1\"", "null|20", page);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+}
@@ -0,0 +1,78 @@
+package com.incubyte.sweetshop.catalog;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.CatalogBulkChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SweetNearCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, Sweet> loader = id -> {
+        loads.incrementAndGet();
+        return new Sweet(id, "Sweet " + id, "Candy", new BigDecimal("1.00"), loads.get());
+    };
+    private SweetNearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SweetNearCache(meterRegistry, true, 100, 60_000);
+    }
+
+    @Test
+    void testGet_LoadsOnceAndReportsHitRatio() {
+        // When
+        Sweet first = cache.get(1L, loader);
+        Sweet second = cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "sweets.by-id").gauge().value());
+        assertEquals(2, meterRegistry.get("cache.gets").tags("cache", "sweets.by-id", "result", "hit")
+                .functionCounter().count());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "sweets.by-id").functionCounter());
+    }
+
+    @Test
+    void testChangeEvents_InvalidateEntries() {
+        // Given
+        Sweet sweet = cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        // When
+        cache.onSweetChanged(new SweetChangedEvent(ChangeType.UPDATED, sweet));
+
+        // Then
+        assertEquals(3, cache.get(1L, loader).getQuantity());
+        assertEquals(2, cache.get(2L, loader).getQuantity());
+
+        cache.onCatalogBulkChanged(new CatalogBulkChangedEvent("import", 10));
+        assertEquals(4, cache.get(2L, loader).getQuantity());
+    }
+
+    @Test
+    void testGet_DisabledAlwaysLoads() {
+        // Given
+        SweetNearCache disabled = new SweetNearCache(meterRegistry, false, 100, 60_000);
+
+        // When
+        disabled.get(1L, loader);
+        disabled.get(1L, loader);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,56 @@
+package com.incubyte.sweetshop.config;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testPurchase_AllowedForUser() throws Exception {
+        // Given
+        Sweet sweet = sweetRepository.save(new Sweet(null, "Chocolate Bar", "Chocolate", new BigDecimal("2.50"), 5));
+
+        // When & Then
+        mockMvc.perform(post("/api/sweets/" + sweet.getId() + "/purchase"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(4));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testRestock_ForbiddenForUser() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/sweets/1/restock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 10}"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,69 @@
+package com.incubyte.sweetshop.controller;
+
+import com.incubyte.sweetshop.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testRegister_Created() throws Exception {
+        register("newuser", "new@example.com")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.username").value("newuser"));
+    }
+
+    @Test
+    void testRegister_DuplicateUsernameIsConflict() throws Exception {
+        // Given
+        register("taken", "first@example.com").andExpect(status().isCreated());
+
+        // When & Then
+        register("taken", "second@example.com")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Username already exists"));
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void testRegister_DuplicateEmailIsConflict() throws Exception {
+        // Given
+        register("first", "shared@example.com").andExpect(status().isCreated());
+
+        // When & Then
+        register("second", "shared@example.com")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Email already exists"));
+        assertEquals(1, userRepository.count());
+    }
+
+    private ResultActions register(String username, String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"password123\"}"));
+    }
+}
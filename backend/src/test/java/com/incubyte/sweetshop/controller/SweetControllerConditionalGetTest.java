@@ -0,0 +1,101 @@
+package com.incubyte.sweetshop.controller;
+
+import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class SweetControllerConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @SpyBean
+    private SweetService sweetService;
+
+    private Long sweetId;
+
+    @BeforeEach
+    void setUp() {
+        sweetId = sweetService.createSweet(request("Chocolate Bar")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testGetAllSweets_MatchingETagAnswers304WithoutLoading() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/sweets"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(sweetService);
+
+        // When & Then
+        mockMvc.perform(get("/api/sweets").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/sweets/search?name=choc").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/sweets/" + sweetId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(sweetService);
+    }
+
+    @Test
+    void testGetAllSweets_MutationChangesETag() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/sweets/" + sweetId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Chocolate Bar"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        sweetService.restockSweet(sweetId, 5);
+
+        // Then
+        String newEtag = mockMvc.perform(get("/api/sweets").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.id == " + sweetId + ")].quantity").value(15))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+        verify(sweetService).getAllSweets(any(), any());
+    }
+
+    private static SweetRequest request(String name) {
+        SweetRequest request = new SweetRequest();
+        request.setName(name);
+        request.setCategory("Chocolate");
+        request.setPrice(new BigDecimal("5.99"));
+        request.setQuantity(10);
+        return request;
+    }
+}
@@ -0,0 +1,231 @@
+package com.incubyte.sweetshop.flashsale;
+
+import com.incubyte.sweetshop.dto.BulkRestockRequest;
+import com.incubyte.sweetshop.dto.OrderItemRequest;
+import com.incubyte.sweetshop.dto.OrderRequest;
+import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FlashSaleStockTest {
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private FlashSaleStock flashSaleStock;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long hotId;
+    private Long coldId;
+
+    @BeforeEach
+    void setUp() {
+        hotId = sweetRepository.save(new Sweet(null, "Golden Truffle", "Chocolate", new BigDecimal("9.99"), 50)).getId();
+        coldId = sweetRepository.save(new Sweet(null, "Lollipop", "Candy", new BigDecimal("2.50"), 10)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (flashSaleStock.isHot(hotId)) {
+            sweetService.endFlashSale(hotId);
+        }
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testFlashSale_ConcurrentPurchasesNeverOversell() throws Exception {
+        // Given
+        sweetService.startFlashSale(hotId);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    try {
+                        sweetService.purchaseSweet(hotId);
+                        sold.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        assertEquals("Sweet is out of stock", e.getMessage());
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Sweet afterSale = sweetService.endFlashSale(hotId);
+
+        // Then
+        assertEquals(50, sold.get());
+        assertEquals(0, afterSale.getQuantity());
+        assertFalse(flashSaleStock.isHot(hotId));
+    }
+
+    @Test
+    void testFlashSale_WriteBehindFlushesDeltas() {
+        // Given
+        sweetService.startFlashSale(hotId);
+
+        // When
+        sweetService.purchaseSweet(hotId, 5);
+        sweetService.restockSweet(hotId, 2);
+        Sweet live = sweetService.purchaseSweet(hotId, 1);
+        flashSaleStock.flushAll();
+
+        // Then
+        assertEquals(46, live.getQuantity());
+        assertEquals(46, sweetRepository.findById(hotId).orElseThrow().getQuantity());
+        assertTrue(flashSaleStock.isHot(hotId));
+    }
+
+    @Test
+    void testFlashSale_FailedCheckoutReturnsUnits() {
+        // Given
+        sweetService.startFlashSale(hotId);
+        OrderRequest request = new OrderRequest(List.of(
+                new OrderItemRequest(hotId, 10),
+                new OrderItemRequest(coldId, 11)
+        ));
+
+        // When
+        assertThrows(RuntimeException.class, () -> sweetService.checkout(request));
+        Sweet afterSale = sweetService.endFlashSale(hotId);
+
+        // Then
+        assertEquals(50, afterSale.getQuantity());
+        assertEquals(10, sweetRepository.findById(coldId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testFlashSale_BulkRestockReachesCounterOnlyOnCommit() {
+        // Given
+        sweetService.startFlashSale(hotId);
+        BulkRestockRequest request = new BulkRestockRequest(List.of(
+                new OrderItemRequest(hotId, 5),
+                new OrderItemRequest(coldId, 5)
+        ));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            sweetService.restockSweets(request);
+            status.setRollbackOnly();
+        });
+        Sweet afterRollback = flashSaleStock.withLiveQuantity(sweetService.getSweetById(hotId));
+        sweetService.restockSweets(request);
+        Sweet afterSale = sweetService.endFlashSale(hotId);
+
+        // Then
+        assertEquals(50, afterRollback.getQuantity());
+        assertEquals(55, afterSale.getQuantity());
+        assertEquals(15, sweetRepository.findById(coldId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testFlashSale_EnteringDuringAnUpdateRollsTheUpdateBack() {
+        // Given: the update has read the row before the sale starts
+        SweetRequest request = new SweetRequest();
+        request.setName("Golden Truffle");
+        request.setCategory("Chocolate");
+        request.setPrice(new BigDecimal("9.99"));
+        request.setQuantity(500);
+
+        // When
+        assertThrows(ConflictException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            sweetRepository.findById(hotId).orElseThrow();
+            startFlashSaleOnAnotherThread();
+            sweetService.updateSweet(hotId, request);
+        }));
+        Sweet afterSale = sweetService.endFlashSale(hotId);
+
+        // Then
+        assertEquals(50, afterSale.getQuantity());
+    }
+
+    @Test
+    void testFlashSale_EnteringDuringADeleteRollsTheDeleteBack() {
+        // When
+        assertThrows(ConflictException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            sweetRepository.findById(hotId).orElseThrow();
+            startFlashSaleOnAnotherThread();
+            sweetService.deleteSweet(hotId);
+        }));
+
+        // Then
+        assertTrue(flashSaleStock.isHot(hotId));
+        assertTrue(sweetRepository.findById(hotId).isPresent());
+    }
+
+    @Test
+    void testFlashSale_CurrentVersionDoesNotLetAnUpdateThrough() {
+        // Given
+        sweetService.startFlashSale(hotId);
+        Long version = sweetRepository.findById(hotId).orElseThrow().getVersion();
+        SweetRequest request = new SweetRequest();
+        request.setName("Golden Truffle");
+        request.setCategory("Chocolate");
+        request.setPrice(new BigDecimal("9.99"));
+        request.setQuantity(500);
+        request.setVersion(version);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> sweetService.updateSweet(hotId, request));
+        Sweet row = sweetRepository.findById(hotId).orElseThrow();
+        assertEquals(version, row.getVersion());
+        assertEquals(50, row.getQuantity());
+    }
+
+    @Test
+    void testFlashSale_RejectsAbsoluteUpdatesUntilItEnds() {
+        // Given
+        sweetService.startFlashSale(hotId);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> sweetService.deleteSweet(hotId));
+        assertThrows(ConflictException.class, () -> sweetService.startFlashSale(hotId));
+        sweetService.endFlashSale(hotId);
+        sweetService.deleteSweet(hotId);
+        assertTrue(sweetRepository.findById(hotId).isEmpty());
+    }
+
+    // enter() locks the row in its own transaction, so it must not run on the test's thread
+    private void startFlashSaleOnAnotherThread() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> sweetService.startFlashSale(hotId)).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
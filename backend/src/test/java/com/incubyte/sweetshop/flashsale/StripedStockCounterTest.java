@@ -0,0 +1,92 @@
+package com.incubyte.sweetshop.flashsale;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    @Test
+    void testTryTake_RebalancesWhenNoSingleStripeHoldsEnough() {
+        // Given: 4 units over 4 stripes, one unit each
+        StripedStockCounter counter = new StripedStockCounter(4, 4);
+
+        // When & Then
+        assertEquals(StripedStockCounter.Result.TAKEN, counter.tryTake(3));
+        assertEquals(1, counter.available());
+        assertEquals(StripedStockCounter.Result.OUT_OF_STOCK, counter.tryTake(2));
+        assertEquals(StripedStockCounter.Result.TAKEN, counter.tryTake(1));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void testUnflushed_TracksSalesAndRestocksSinceLastFlush() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(2, 10);
+        counter.tryTake(4);
+
+        // When
+        long firstFlush = counter.unflushed();
+        counter.markFlushed(firstFlush);
+        counter.add(6);
+        counter.tryTake(1);
+
+        // Then
+        assertEquals(4, firstFlush);
+        assertEquals(-5, counter.unflushed());
+        assertEquals(11, counter.available());
+    }
+
+    @Test
+    void testClose_RejectsFurtherTakesAndAdds() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(2, 10);
+        counter.tryTake(3);
+
+        // When
+        counter.close();
+
+        // Then
+        assertEquals(StripedStockCounter.Result.CLOSED, counter.tryTake(1));
+        assertFalse(counter.add(5));
+        assertEquals(7, counter.available());
+        assertEquals(3, counter.unflushed());
+    }
+
+    @Test
+    void testTryTake_NeverOversellsUnderContention() throws Exception {
+        // Given
+        int stock = 1_000;
+        StripedStockCounter counter = new StripedStockCounter(8, stock);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When: far more attempts than units
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (counter.tryTake(1 + i % 3) == StripedStockCounter.Result.TAKEN) {
+                        sold.addAndGet(1 + i % 3);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(stock, sold.get() + counter.available());
+        assertEquals(sold.get(), counter.unflushed());
+        assertTrue(counter.available() < 3);
+    }
+}
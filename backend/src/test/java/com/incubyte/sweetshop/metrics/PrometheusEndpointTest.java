@@ -0,0 +1,78 @@
+package com.incubyte.sweetshop.metrics;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private SweetShopMetrics metrics;
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testPrometheus_RequiresAuthentication() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testPrometheus_ForbiddenForUser() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testPrometheus_ExposesShopMetricsToAdmin() throws Exception {
+        // Given
+        Sweet sweet = sweetRepository.save(new Sweet(null, "Chocolate Bar", "Chocolate", new BigDecimal("2.50"), 1));
+        sweetService.purchaseSweet(sweet.getId());
+        assertThrows(RuntimeException.class, () -> sweetService.purchaseSweet(sweet.getId()));
+        metrics.refreshStockByCategory();
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("sweets_purchases_total")))
+                .andExpect(content().string(containsString("sweets_purchases_out_of_stock_total")))
+                .andExpect(content().string(containsString("sweets_stock_units{application=\"sweet-shop\",category=\"Chocolate\",} 0.0")))
+                .andExpect(content().string(containsString("auth_jwt_parse_seconds")))
+                .andExpect(content().string(containsString("auth_password_verify_seconds")));
+    }
+}
@@ -0,0 +1,121 @@
+package com.incubyte.sweetshop.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit ipLimit = new RateLimitProperties.Limit();
+        ipLimit.setCapacity(3);
+        ipLimit.setRefillPerMinute(3);
+        RateLimitProperties.Limit usernameLimit = new RateLimitProperties.Limit();
+        usernameLimit.setCapacity(2);
+        usernameLimit.setRefillPerMinute(2);
+        RateLimitProperties.Route login = new RateLimitProperties.Route();
+        login.setPath("/api/auth/login");
+        login.setIp(ipLimit);
+        login.setUsername(usernameLimit);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("login", login);
+
+        filter = new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testLogin_RejectedPerUsernameWithRetryAfter() throws Exception {
+        // Given
+        perform("10.0.0.1", "alice");
+        perform("10.0.0.2", "Alice");
+
+        // When
+        MockHttpServletResponse response = perform("10.0.0.3", "alice");
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+        assertEquals(200, perform("10.0.0.3", "bob").getStatus());
+    }
+
+    @Test
+    void testLogin_RejectedPerIp() throws Exception {
+        // Given
+        perform("10.0.0.1", "alice");
+        perform("10.0.0.1", "bob");
+        perform("10.0.0.1", "carol");
+
+        // When
+        MockHttpServletResponse response = perform("10.0.0.1", "dave");
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("20", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testLogin_BodyIsStillReadableDownstream() throws Exception {
+        // Given
+        MockHttpServletRequest request = loginRequest("10.0.0.1", "alice");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        String forwarded = StreamUtils.copyToString(chain.getRequest().getInputStream(), StandardCharsets.UTF_8);
+        assertEquals("{\"username\":\"alice\",\"password\":\"secret\"}", forwarded);
+    }
+
+    @Test
+    void testLogin_OversizedBodyRejectedWithoutBuffering() throws Exception {
+        // Given
+        MockHttpServletRequest request = loginRequest("10.0.0.1", "alice");
+        request.setContent(new byte[8_193]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testOtherRoutes_AreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/sweets");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse perform(String ip, String username) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(loginRequest(ip, username), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest loginRequest(String ip, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,94 @@
+package com.incubyte.sweetshop.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private RateLimitProperties.Limit limit;
+
+    @BeforeEach
+    void setUp() {
+        limit = new RateLimitProperties.Limit();
+        limit.setCapacity(2);
+        limit.setRefillPerMinute(60);
+    }
+
+    @Test
+    void testTryAcquire_RejectsOnceCapacityIsSpentAndRefillsOverTime() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 60_000, now::get);
+
+        // When & Then
+        assertEquals(0, limiter.tryAcquire("login|ip|", "10.0.0.1", limit));
+        assertEquals(0, limiter.tryAcquire("login|ip|", "10.0.0.1", limit));
+        long wait = limiter.tryAcquire("login|ip|", "10.0.0.1", limit);
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("login|ip|", "10.0.0.2", limit));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("login|ip|", "10.0.0.1", limit));
+    }
+
+    @Test
+    void testTryAcquire_BoundsMemoryWithSharedOverflowBucket() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60_000, now::get);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("login|ip|", "10.0.0." + i, limit);
+        }
+        long first = limiter.tryAcquire("login|ip|", "10.0.1.1", limit);
+        long second = limiter.tryAcquire("login|ip|", "10.0.1.2", limit);
+        long third = limiter.tryAcquire("login|ip|", "10.0.1.3", limit);
+
+        // Then
+        assertEquals(3, limiter.size());
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertTrue(third > 0, "new keys share one bucket while the map is full");
+    }
+
+    @Test
+    void testTryAcquire_ScansForIdleBucketsAtMostOncePerSecondWhenFull() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 100, now::get);
+        limiter.tryAcquire("login|ip|", "10.0.0.1", limit);
+        limiter.tryAcquire("login|ip|", "10.0.0.2", limit);
+        limiter.tryAcquire("login|ip|", "10.0.1.1", limit);
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        limiter.tryAcquire("login|ip|", "10.0.1.2", limit);
+        int sizeWithinInterval = limiter.size();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("login|ip|", "10.0.1.3", limit);
+
+        // Then
+        assertEquals(2, sizeWithinInterval, "idle buckets stay until the next allowed scan");
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testEvictIdle_DropsBucketsUntouchedForTheIdlePeriod() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1_000, now::get);
+        limiter.tryAcquire("login|ip|", "10.0.0.1", limit);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.tryAcquire("login|ip|", "10.0.0.2", limit);
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        limiter.evictIdle();
+
+        // Then
+        assertEquals(1, limiter.size());
+    }
+}
@@ -0,0 +1,139 @@
+package com.incubyte.sweetshop.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the PostgreSQL plans of the repository queries against a database
+ * migrated by Flyway, including the expression and trigram indexes H2 cannot
+ * build. Runs only when pointed at a disposable database:
+ * {@code mvn test -Dtest=PostgresQueryPlanTest -Dplans.postgres.url=jdbc:postgresql://localhost:5432/sweetshop_plans}
+ * (optionally {@code -Dplans.postgres.user} / {@code -Dplans.postgres.password}).
+ * <p>
+ * Sequential scans are disabled for the session, so the planner only picks one
+ * when no index can answer the query.
+ */
+@EnabledIfSystemProperty(named = "plans.postgres.url", matches = ".+")
+class PostgresQueryPlanTest {
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        String url = System.getProperty("plans.postgres.url");
+        String user = System.getProperty("plans.postgres.user", "postgres");
+        String password = System.getProperty("plans.postgres.password", "postgres");
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void testSearchByName_UsesTrigramIndex() throws SQLException {
+        // When
+        String plan = explain("SELECT id, name, category, price, quantity, version FROM sweets " +
+                "WHERE ('choc' IS NULL OR lower(name) LIKE lower('%' || 'choc' || '%')) AND id > 0 " +
+                "ORDER BY id FETCH FIRST 20 ROWS ONLY");
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_lower_name_trgm");
+    }
+
+    @Test
+    void testSearchByCategory_UsesTrigramIndex() throws SQLException {
+        // When
+        String plan = explain("SELECT id FROM sweets " +
+                "WHERE ('cand' IS NULL OR lower(category) LIKE lower('%' || 'cand' || '%')) AND id > 0 " +
+                "ORDER BY id FETCH FIRST 20 ROWS ONLY");
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_lower_category_trgm");
+    }
+
+    @Test
+    void testNamePrefix_UsesLowerNameIndex() throws SQLException {
+        // When
+        String plan = explain("SELECT id FROM sweets WHERE lower(name) LIKE 'choc%'");
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_lower_name");
+    }
+
+    @Test
+    void testPriceRange_UsesPriceIndex() throws SQLException {
+        // When
+        String plan = explain("SELECT id FROM sweets WHERE price >= 1.00 AND price <= 5.00");
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_price_id");
+    }
+
+    @Test
+    void testPriceKeyset_UsesPriceIdIndex() throws SQLException {
+        // When
+        String plan = explain("SELECT id FROM sweets " +
+                "WHERE (2.50 IS NULL OR price > 2.50 OR (price = 2.50 AND id > 7)) " +
+                "ORDER BY price, id FETCH FIRST 20 ROWS ONLY");
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_price_id");
+    }
+
+    @Test
+    void testFindByCategory_UsesCategoryIndex() throws SQLException {
+        // When
+        String plan = explain("SELECT id FROM sweets WHERE category = 'Chocolate'");
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_category");
+    }
+
+    @Test
+    void testFindByEmail_UsesUniqueConstraintIndex() throws SQLException {
+        // When
+        String plan = explain("SELECT id FROM users WHERE email = 'alice@example.com'");
+
+        // Then
+        assertUsesIndex(plan, "uk_users_email");
+    }
+
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+}
@@ -0,0 +1,175 @@
+package com.incubyte.sweetshop.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each repository query, captures the SQL Hibernate sends and checks the
+ * H2 {@code EXPLAIN} plan, so a query or migration change that drops back to a
+ * full table scan fails here. The PostgreSQL-only indexes are covered by
+ * {@link PostgresQueryPlanTest}.
+ */
+@SpringBootTest
+class QueryPlanTest {
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @BeforeEach
+    void setUp() {
+        sqlCapture.statements.clear();
+    }
+
+    @Test
+    void testFindByCategory_UsesCategoryIndex() {
+        // When
+        String plan = explain(() -> sweetRepository.findByCategory("Chocolate"));
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_category");
+    }
+
+    @Test
+    void testAdjustPriceByCategory_UsesCategoryIndex() {
+        // When
+        String plan = explain(() -> transactionTemplate.executeWithoutResult(status ->
+                sweetRepository.adjustPriceByCategory("Chocolate", new BigDecimal("1.10"))));
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_category");
+    }
+
+    @Test
+    void testDecrementStock_UsesPrimaryKey() {
+        // When
+        String plan = explain(() -> transactionTemplate.executeWithoutResult(status ->
+                sweetRepository.decrementStock(1L, 1)));
+
+        // Then
+        assertUsesIndex(plan, "PRIMARY_KEY");
+    }
+
+    @Test
+    void testFindViewsByIdGreaterThan_UsesPrimaryKey() {
+        // When
+        String plan = explain(() -> sweetRepository.findViewsByIdGreaterThanOrderByIdAsc(0L, Limit.of(20)));
+
+        // Then
+        assertUsesIndex(plan, "PRIMARY_KEY");
+    }
+
+    @Test
+    void testFindViewsByIdIn_UsesPrimaryKey() {
+        // When
+        String plan = explain(() -> sweetRepository.findViewsByIdIn(List.of(1L, 2L, 3L)));
+
+        // Then
+        assertUsesIndex(plan, "PRIMARY_KEY");
+    }
+
+    @Test
+    void testSearchSweets_SeeksOnKeysetCursor() {
+        // When
+        String plan = explain(() -> sweetRepository.searchSweets(
+                "choc", null, new BigDecimal("1.00"), new BigDecimal("5.00"), 0L, Limit.of(20)));
+
+        // Then
+        assertFalse(plan.contains(TABLE_SCAN), plan);
+    }
+
+    @Test
+    void testSearchSweetsByPrice_WalksPriceIdIndex() {
+        // When
+        String plan = explain(() -> sweetRepository.searchSweetsByPriceAsc(
+                null, null, null, null, new BigDecimal("2.50"), 7L, Limit.of(20)));
+
+        // Then
+        assertUsesIndex(plan, "idx_sweets_price_id");
+    }
+
+    @Test
+    void testFindByUsername_UsesUniqueConstraintIndex() {
+        // When
+        String plan = explain(() -> userRepository.findByUsername("alice"));
+
+        // Then
+        assertUsesIndex(plan, "uk_users_username");
+    }
+
+    @Test
+    void testFindByEmail_UsesUniqueConstraintIndex() {
+        // When
+        String plan = explain(() -> userRepository.findByEmail("alice@example.com"));
+
+        // Then
+        assertUsesIndex(plan, "uk_users_email");
+    }
+
+    private String explain(Runnable query) {
+        query.run();
+        assertFalse(sqlCapture.statements.isEmpty(), "query sent no SQL");
+        // H2 plans statements with unbound parameters, so the captured SQL can be explained as is
+        String sql = "EXPLAIN " + sqlCapture.statements.get(0);
+        return jdbcTemplate.query(connection -> connection.prepareStatement(sql),
+                (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : "");
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains(TABLE_SCAN), plan);
+    }
+
+    static class SqlCapture implements StatementInspector {
+        final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+}
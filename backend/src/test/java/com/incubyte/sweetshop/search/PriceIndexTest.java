@@ -0,0 +1,108 @@
+package com.incubyte.sweetshop.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceIndexTest {
+
+    private PriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PriceIndex();
+        index.add(5L, 250);
+        index.add(1L, 599);
+        index.add(3L, 199);
+        index.add(2L, 250);
+        index.add(4L, 499);
+    }
+
+    @Test
+    void testEntriesOrderedByPriceThenId() {
+        // Then
+        assertEquals(5, index.size());
+        long[] expectedIds = {3L, 2L, 5L, 4L, 1L};
+        long[] expectedCents = {199, 250, 250, 499, 599};
+        for (int i = 0; i < expectedIds.length; i++) {
+            assertEquals(expectedIds[i], index.idAt(i));
+            assertEquals(expectedCents[i], index.centsAt(i));
+        }
+    }
+
+    @Test
+    void testRangeBoundsAreInclusive() {
+        // When
+        int from = index.lowerBound(250);
+        int to = index.upperBound(499);
+
+        // Then
+        assertEquals(1, from);
+        assertEquals(4, to);
+        assertEquals(0, index.lowerBound(0));
+        assertEquals(5, index.upperBound(Long.MAX_VALUE));
+        assertEquals(0, index.upperBound(100));
+    }
+
+    @Test
+    void testKeysetPositionsBreakTiesById() {
+        // Then
+        assertEquals(2, index.indexAfter(250, 2L));
+        assertEquals(3, index.indexAfter(250, 5L));
+        assertEquals(1, index.indexOf(250, 2L));
+        // A key that is no longer indexed still continues from its position
+        assertEquals(2, index.indexAfter(250, 4L));
+    }
+
+    @Test
+    void testRemoveAndDuplicateAdd() {
+        // When
+        index.remove(2L, 250);
+        index.remove(2L, 250);
+        index.remove(1L, 100);
+        index.add(4L, 499);
+
+        // Then
+        assertEquals(4, index.size());
+        assertEquals(5L, index.idAt(1));
+        assertEquals(1L, index.idAt(3));
+    }
+
+    @Test
+    void testCentConversions() {
+        // Then
+        assertEquals(250, PriceIndex.toCents(new BigDecimal("2.5")));
+        assertEquals(200, PriceIndex.toCents(new BigDecimal("1.995")));
+        assertEquals(200, PriceIndex.ceilCents(new BigDecimal("1.991")));
+        assertEquals(199, PriceIndex.floorCents(new BigDecimal("1.999")));
+    }
+
+    @Test
+    void testAppendThenSortMatchesIncrementalAdds() {
+        // Given
+        Random random = new Random(42);
+        PriceIndex bulk = new PriceIndex();
+        PriceIndex incremental = new PriceIndex();
+        for (long id = 1; id <= 1_000; id++) {
+            long cents = random.nextInt(300);
+            bulk.append(id, cents);
+            incremental.add(id, cents);
+        }
+
+        // When
+        bulk.sort();
+
+        // Then
+        assertEquals(incremental.size(), bulk.size());
+        for (int i = 0; i < bulk.size(); i++) {
+            assertEquals(incremental.idAt(i), bulk.idAt(i));
+            assertEquals(incremental.centsAt(i), bulk.centsAt(i));
+        }
+        bulk.add(1_001L, 150);
+        assertEquals(1_001, bulk.size());
+    }
+}
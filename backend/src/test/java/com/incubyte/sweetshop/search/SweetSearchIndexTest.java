@@ -0,0 +1,185 @@
+package com.incubyte.sweetshop.search;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.event.SweetChangedEvent;
+import com.incubyte.sweetshop.event.SweetChangedEvent.ChangeType;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class SweetSearchIndexTest {
+
+    private SweetSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SweetSearchIndex(null, null, null);
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 50)));
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(2L, "Lollipop", "Candy", new BigDecimal("2.50"), 100)));
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(3L, "Hot Chocolate Drops", "Candy", new BigDecimal("1.99"), 200)));
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(4L, "Gummy Bears", "Gummies", new BigDecimal("4.99"), 75)));
+    }
+
+    @Test
+    void testSearch_ByNameFragmentIsCaseInsensitive() {
+        assertEquals(List.of(1L, 3L), index.search("CHOC", null, null, null, 0L, 10));
+        assertEquals(List.of(3L), index.search("te drop", null, null, null, 0L, 10));
+    }
+
+    @Test
+    void testSearch_CombinesNameCategoryAndPrice() {
+        assertEquals(List.of(3L), index.search("choc", "cand", null, null, 0L, 10));
+        assertEquals(List.of(1L), index.search("choc", null, new BigDecimal("2.00"), null, 0L, 10));
+        assertEquals(List.of(2L, 4L), index.search(null, null, new BigDecimal("2.50"), new BigDecimal("4.99"), 0L, 10));
+    }
+
+    @Test
+    void testSearch_ShortFragmentsAndMisses() {
+        assertEquals(List.of(2L, 3L), index.search("op", null, null, null, 0L, 10));
+        assertTrue(index.search("toffee", null, null, null, 0L, 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_KeysetContinuation() {
+        assertEquals(List.of(1L, 2L), index.search(null, null, null, null, 0L, 2));
+        assertEquals(List.of(3L, 4L), index.search(null, null, null, null, 2L, 2));
+    }
+
+    @Test
+    void testSearch_ReflectsUpdatesAndDeletes() {
+        // When
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.UPDATED, new Sweet(1L, "Toffee Bar", "Toffee", new BigDecimal("5.99"), 50)));
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.DELETED, new Sweet(3L, "Hot Chocolate Drops", "Candy", new BigDecimal("1.99"), 200)));
+
+        // Then
+        assertTrue(index.search("choc", null, null, null, 0L, 10).isEmpty());
+        assertEquals(List.of(1L), index.search("toffee", null, null, null, 0L, 10));
+    }
+
+    @Test
+    void testOnSweetChanged_IgnoresOlderVersion() {
+        // Given
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.UPDATED, new Sweet(4L, "Sour Bears", "Gummies", new BigDecimal("4.99"), 75, 2L)));
+
+        // When
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.UPDATED, new Sweet(4L, "Gummy Bears", "Gummies", new BigDecimal("4.99"), 75, 1L)));
+
+        // Then
+        assertEquals(List.of(4L), index.search("sour", null, null, null, 0L, 10));
+        assertTrue(index.search("gummy", null, null, null, 0L, 10).isEmpty());
+    }
+
+    @Test
+    void testRebuild_KeepsServingWhileReadingAndReplaysChangesMadeMeanwhile() throws Exception {
+        // Given
+        SweetRepository repository = mock(SweetRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        SweetSearchIndex rebuilt = new SweetSearchIndex(repository, transactionTemplate, mock(EntityManager.class));
+        rebuilt.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 50, 0L)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<List<Long>> duringRead = new ArrayList<>();
+        when(repository.streamAll(anyInt())).thenAnswer(invocation -> Stream.of(
+                new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 50, 0L),
+                new Sweet(2L, "Lollipop", "Candy", new BigDecimal("2.50"), 100, 0L)
+        ).peek(sweet -> {
+            if (sweet.getId() == 1L) {
+                // Row 2 is renamed after the read started but before it reached the row
+                rebuilt.onSweetChanged(new SweetChangedEvent(ChangeType.UPDATED, new Sweet(2L, "Toffee", "Candy", new BigDecimal("2.50"), 100, 1L)));
+                duringRead.add(assertTimeoutPreemptively(Duration.ofSeconds(5), () -> executor.submit(() ->
+                        rebuilt.search("choc", null, null, null, 0L, 10)).get()));
+            }
+        }));
+
+        // When
+        rebuilt.rebuild();
+        executor.shutdown();
+
+        // Then
+        assertEquals(List.of(List.of(1L)), duringRead);
+        assertEquals(List.of(2L), rebuilt.search("toffee", null, null, null, 0L, 10));
+        assertTrue(rebuilt.search("lollipop", null, null, null, 0L, 10).isEmpty());
+        assertTrue(rebuilt.isReady());
+    }
+
+    @Test
+    void testSearch_PriceRangeDrivesSelectiveQueries() {
+        // Given
+        for (long id = 10; id < 60; id++) {
+            index.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(id, "Mint " + id, "Mints", new BigDecimal("0.50"), 10)));
+        }
+
+        // Then
+        assertEquals(List.of(2L, 4L), index.search(null, null, new BigDecimal("2.50"), new BigDecimal("4.99"), 0L, 10));
+        assertEquals(List.of(4L), index.search(null, null, new BigDecimal("2.50"), new BigDecimal("4.99"), 2L, 10));
+        assertEquals(List.of(10L, 11L), index.search("mint", null, null, new BigDecimal("0.50"), 0L, 2));
+        assertTrue(index.search(null, null, new BigDecimal("5.00"), new BigDecimal("1.00"), 0L, 10).isEmpty());
+    }
+
+    @Test
+    void testSearchByPrice_OrdersAndContinuesByPrice() {
+        // When
+        List<PriceKey> firstPage = index.searchByPrice(null, null, null, null, false, null, 2);
+        List<PriceKey> secondPage = index.searchByPrice(null, null, null, null, false, firstPage.get(1), 2);
+
+        // Then
+        assertEquals(List.of(new PriceKey(199, 3L), new PriceKey(250, 2L)), firstPage);
+        assertEquals(List.of(new PriceKey(499, 4L), new PriceKey(599, 1L)), secondPage);
+    }
+
+    @Test
+    void testSearchByPrice_Descending() {
+        // When
+        List<PriceKey> firstPage = index.searchByPrice(null, null, null, null, true, null, 3);
+        List<PriceKey> secondPage = index.searchByPrice(null, null, null, null, true, firstPage.get(2), 3);
+
+        // Then
+        assertEquals(List.of(1L, 4L, 2L), firstPage.stream().map(PriceKey::id).toList());
+        assertEquals(List.of(new PriceKey(199, 3L)), secondPage);
+    }
+
+    @Test
+    void testSearchByPrice_CombinesNameCategoryAndPrice() {
+        // Given
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.CREATED, new Sweet(5L, "Chocolate Coins", "Chocolate", new BigDecimal("0.99"), 20)));
+
+        // Then
+        assertEquals(List.of(5L, 3L, 1L), index.searchByPrice("choc", null, null, null, false, null, 10)
+                .stream().map(PriceKey::id).toList());
+        assertEquals(List.of(1L, 5L), index.searchByPrice("choc", "chocolate", null, null, true, null, 10)
+                .stream().map(PriceKey::id).toList());
+        assertEquals(List.of(3L), index.searchByPrice("choc", null, new BigDecimal("1.00"), new BigDecimal("5.00"), false, null, 10)
+                .stream().map(PriceKey::id).toList());
+        assertEquals(List.of(1L), index.searchByPrice("choc", null, null, null, false, new PriceKey(199, 3L), 10)
+                .stream().map(PriceKey::id).toList());
+    }
+
+    @Test
+    void testSearchByPrice_FollowsPriceUpdates() {
+        // When
+        index.onSweetChanged(new SweetChangedEvent(ChangeType.UPDATED, new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("0.75"), 50)));
+
+        // Then
+        assertEquals(List.of(new PriceKey(75, 1L)), index.searchByPrice(null, null, null, null, false, null, 1));
+    }
+}
@@ -0,0 +1,123 @@
+package com.incubyte.sweetshop.security;
+
+import com.incubyte.sweetshop.entity.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-for-the-sweet-shop-test-suite-min-256-bits";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 60_000L, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, new UserAuthoritiesCache(userDetailsService));
+
+        testUser = new User("testuser", "test@example.com", "encodedPassword");
+        testUser.setId(42L);
+        testUser.getRoles().add(User.Role.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testAuthenticatesFromClaimsWithoutUserLookup() throws Exception {
+        // Given
+        String token = jwtTokenProvider.generateToken(testUser);
+
+        // When
+        Authentication authentication = filter(token);
+
+        // Then
+        assertNotNull(authentication);
+        assertEquals("testuser", authentication.getName());
+        assertEquals(42L, ((AuthenticatedUser) authentication.getPrincipal()).getId());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), authorities(authentication));
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void testFallsBackToUserLookupForTokensWithoutRoles() throws Exception {
+        // Given
+        String token = jwtTokenProvider.generateToken(testUser);
+        String legacyToken = Jwts.builder()
+                .subject("testuser")
+                .expiration(jwtTokenProvider.verifyToken(token).getExpiration())
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
+                .username("testuser")
+                .password("encodedPassword")
+                .authorities("ROLE_USER")
+                .build();
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+
+        // When
+        Authentication authentication = filter(legacyToken);
+
+        // Then
+        assertEquals(Set.of("ROLE_USER"), authorities(authentication));
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void testRejectsTamperedToken() throws Exception {
+        // Given
+        String token = jwtTokenProvider.generateToken(testUser);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When
+        Authentication authentication = filter(tampered);
+
+        // Then
+        assertNull(authentication);
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/sweets");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private Set<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,51 @@
+package com.incubyte.sweetshop.security;
+
+import com.incubyte.sweetshop.dto.LoginRequest;
+import com.incubyte.sweetshop.entity.User;
+import com.incubyte.sweetshop.repository.UserRepository;
+import com.incubyte.sweetshop.service.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PasswordRehashTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testLogin_RehashesPasswordStoredWithOldCost() {
+        // Given
+        String oldHash = new BCryptPasswordEncoder(4).encode("password123");
+        userRepository.save(new User("legacyuser", "legacy@example.com", oldHash));
+        LoginRequest request = new LoginRequest();
+        request.setUsername("legacyuser");
+        request.setPassword("password123");
+
+        // When
+        authService.login(request);
+
+        // Then
+        String newHash = userRepository.findByUsername("legacyuser").orElseThrow().getPassword();
+        assertNotEquals(oldHash, newHash);
+        assertFalse(passwordEncoder.upgradeEncoding(newHash));
+        assertTrue(passwordEncoder.matches("password123", newHash));
+    }
+}
@@ -3,20 +3,24 @@ package com.incubyte.sweetshop.service;
 import com.incubyte.sweetshop.dto.AuthRequest;
 import com.incubyte.sweetshop.dto.LoginRequest;
 import com.incubyte.sweetshop.entity.User;
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.metrics.SweetShopMetrics;
 import com.incubyte.sweetshop.repository.UserRepository;
-import com.incubyte.sweetshop.security.CustomUserDetailsService;
 import com.incubyte.sweetshop.security.JwtTokenProvider;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,7 +43,7 @@ class AuthServiceTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private CustomUserDetailsService userDetailsService;
+    private SweetShopMetrics metrics;
 
     @InjectMocks
     private AuthService authService;
@@ -66,18 +70,9 @@ class AuthServiceTest {
     @Test
     void testRegister_Success() {
         // Given
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
-
-        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username("testuser")
-                .password("encodedPassword")
-                .authorities("ROLE_USER")
-                .build();
-        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtTokenProvider.generateToken(any(UserDetails.class))).thenReturn("test-token");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+        when(jwtTokenProvider.generateToken(any(User.class))).thenReturn("test-token");
 
         // When
         var result = authService.register(authRequest);
@@ -86,43 +81,40 @@ class AuthServiceTest {
         assertNotNull(result);
         assertEquals("test-token", result.getToken());
         assertEquals("testuser", result.getUsername());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(jwtTokenProvider, times(1)).generateToken(testUser);
     }
 
     @Test
     void testRegister_UsernameExists() {
         // Given
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.USERNAME_CONSTRAINT));
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> authService.register(authRequest));
-        verify(userRepository, never()).save(any(User.class));
+        ConflictException ex = assertThrows(ConflictException.class, () -> authService.register(authRequest));
+        assertEquals("Username already exists", ex.getMessage());
+        verify(jwtTokenProvider, never()).generateToken(any(User.class));
     }
 
     @Test
     void testRegister_EmailExists() {
         // Given
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.EMAIL_CONSTRAINT));
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> authService.register(authRequest));
-        verify(userRepository, never()).save(any(User.class));
+        ConflictException ex = assertThrows(ConflictException.class, () -> authService.register(authRequest));
+        assertEquals("Email already exists", ex.getMessage());
+        verify(jwtTokenProvider, never()).generateToken(any(User.class));
     }
 
     @Test
     void testLogin_Success() {
         // Given
-        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username("testuser")
-                .password("encodedPassword")
-                .authorities("ROLE_USER")
-                .build();
-
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtTokenProvider.generateToken(any(UserDetails.class))).thenReturn("test-token");
-        doNothing().when(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        when(jwtTokenProvider.generateToken(testUser)).thenReturn("test-token");
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
 
         // When
         var result = authService.login(loginRequest);
@@ -133,5 +125,21 @@ class AuthServiceTest {
         assertEquals("testuser", result.getUsername());
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
     }
-}
 
+    @Test
+    void testLogin_BadCredentials() {
+        // Given
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest));
+        verify(metrics, times(1)).recordFailedLogin();
+        verify(jwtTokenProvider, never()).generateToken(any(User.class));
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraint));
+    }
+}
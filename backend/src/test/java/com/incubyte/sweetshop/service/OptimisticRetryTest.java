@@ -0,0 +1,95 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "sweets.optimistic-retry.max-attempts=20",
+        "sweets.optimistic-retry.max-backoff-ms=20"
+})
+class OptimisticRetryTest {
+
+    private static final int THREADS = 8;
+    private static final int RESTOCKS_PER_THREAD = 10;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentRestocks_NoLostUpdates() throws Exception {
+        // Given
+        Long id = sweetRepository.save(new Sweet(null, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 0)).getId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < RESTOCKS_PER_THREAD; i++) {
+                    sweetService.restockSweet(id, 1);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Then
+        Sweet sweet = sweetRepository.findById(id).orElseThrow();
+        assertEquals(THREADS * RESTOCKS_PER_THREAD, sweet.getQuantity());
+        assertEquals(THREADS * RESTOCKS_PER_THREAD, sweet.getVersion());
+    }
+
+    @Test
+    void testExecute_GivesUpWithConflictAfterMaxAttempts() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        double before = exhaustedCount();
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> optimisticRetry.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        }));
+        assertEquals(20, attempts.get());
+        assertEquals(before + 1, exhaustedCount());
+    }
+
+    private double exhaustedCount() {
+        var counter = meterRegistry.find("sweets.optimistic.conflicts")
+                .tags("operation", "test", "outcome", "exhausted").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
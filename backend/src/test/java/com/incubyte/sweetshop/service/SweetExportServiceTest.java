@@ -0,0 +1,71 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SweetExportServiceTest {
+
+    @Autowired
+    private SweetExportService sweetExportService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    private Long chocolateId;
+    private Long toffeeId;
+
+    @BeforeEach
+    void setUp() {
+        chocolateId = sweetRepository.save(new Sweet(null, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 50)).getId();
+        toffeeId = sweetRepository.save(new Sweet(null, "Toffee, \"Salted\"", "Candy", new BigDecimal("2.50"), 7)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testExportNdjson() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        sweetExportService.exportNdjson(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":" + chocolateId));
+        assertTrue(lines[0].contains("\"name\":\"Chocolate Bar\""));
+        assertTrue(lines[1].contains("\"id\":" + toffeeId));
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        sweetExportService.exportCsv(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,name,category,price,quantity", lines[0]);
+        assertEquals(chocolateId + ",Chocolate Bar,Chocolate,5.99,50", lines[1]);
+        assertEquals(toffeeId + ",\"Toffee, \"\"Salted\"\"\",Candy,2.50,7", lines[2]);
+    }
+}
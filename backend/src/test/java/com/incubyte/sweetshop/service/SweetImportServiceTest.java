@@ -0,0 +1,154 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.dto.ImportResponse;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "sweets.import.batch-size=2")
+class SweetImportServiceTest {
+
+    @Autowired
+    private SweetImportService sweetImportService;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testImportCsv_ReportsInvalidRows() throws Exception {
+        // Given
+        String csv = """
+                name,category,price,quantity
+                Chocolate Bar,Chocolate,5.99,50
+                "Toffee, ""Salted\""",Candy,2.50,7
+                ,Candy,1.00,1
+                Lollipop,Candy,abc,3
+                Fudge,Candy,3.00,-1
+                Gummy Bears,Gummies,4.99,75
+                """;
+
+        // When
+        ImportResponse response = sweetImportService.importCsv(stream(csv));
+
+        // Then
+        assertEquals(3, response.getImported());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(4L, 5L, 6L), response.getErrors().stream().map(ImportResponse.RowError::getLine).toList());
+        assertEquals("Name is required", response.getErrors().get(0).getMessage());
+        assertEquals("Price is not a number", response.getErrors().get(1).getMessage());
+        assertEquals("Quantity cannot be negative", response.getErrors().get(2).getMessage());
+        List<Sweet> sweets = sweetRepository.findAll();
+        assertEquals(3, sweets.size());
+        assertTrue(sweets.stream().anyMatch(s -> s.getName().equals("Toffee, \"Salted\"")));
+    }
+
+    @Test
+    void testImportCsv_MissingColumn() {
+        // Given
+        String csv = "name,category,price\nChocolate Bar,Chocolate,5.99\n";
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> sweetImportService.importCsv(stream(csv)));
+        assertEquals("CSV header is missing column: quantity", exception.getMessage());
+    }
+
+    @Test
+    void testImportNdjson_ReportsMalformedLines() throws Exception {
+        // Given
+        String ndjson = """
+                {"name":"Chocolate Bar","category":"Chocolate","price":5.99,"quantity":50}
+                {"name":"Broken",
+                {"name":"Lollipop","category":"Candy","price":2.50}
+                {"id":99,"name":"Gummy Bears","category":"Gummies","price":4.99,"quantity":75}
+                """;
+
+        // When
+        ImportResponse response = sweetImportService.importNdjson(stream(ndjson));
+
+        // Then
+        assertEquals(2, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(2L, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals(3L, response.getErrors().get(1).getLine());
+        assertEquals("Quantity is required", response.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void testImportNdjson_RejectsNullLine() throws Exception {
+        // Given
+        String ndjson = """
+                null
+                {"name":"Lollipop","category":"Candy","price":2.50,"quantity":10}
+                """;
+
+        // When
+        ImportResponse response = sweetImportService.importNdjson(stream(ndjson));
+
+        // Then
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(1L, response.getErrors().get(0).getLine());
+        assertEquals("Expected a JSON object", response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testImport_FailedBatchIsRetriedRowByRow() throws Exception {
+        // Given: the second batch holds a name longer than the column allows
+        String ndjson = """
+                {"name":"A","category":"Candy","price":1.00,"quantity":1}
+                {"name":"B","category":"Candy","price":1.00,"quantity":1}
+                {"name":"C","category":"Candy","price":1.00,"quantity":1}
+                {"name":"%s","category":"Candy","price":1.00,"quantity":1}
+                {"name":"E","category":"Candy","price":1.00,"quantity":1}
+                """.formatted("x".repeat(300));
+
+        // When
+        ImportResponse response = sweetImportService.importNdjson(stream(ndjson));
+
+        // Then
+        assertEquals(4, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(List.of(4L), response.getErrors().stream().map(ImportResponse.RowError::getLine).toList());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Insert failed: "));
+        assertEquals(List.of("A", "B", "C", "E"), sweetRepository.findAll().stream().map(Sweet::getName).sorted().toList());
+    }
+
+    @Test
+    void testImport_VisibleThroughCatalog() throws Exception {
+        // Given
+        String csv = "name,category,price,quantity\nChocolate Bar,Chocolate,5.99,50\n";
+
+        // When
+        sweetImportService.importCsv(stream(csv));
+
+        // Then
+        List<Sweet> sweets = sweetService.getAllSweets();
+        assertEquals(1, sweets.size());
+        assertEquals(new BigDecimal("5.99"), sweets.get(0).getPrice());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
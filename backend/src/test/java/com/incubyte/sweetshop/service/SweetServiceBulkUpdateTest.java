@@ -0,0 +1,109 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.dto.BulkRestockRequest;
+import com.incubyte.sweetshop.dto.BulkUpdateResponse;
+import com.incubyte.sweetshop.dto.OrderItemRequest;
+import com.incubyte.sweetshop.dto.PriceAdjustmentRequest;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SweetServiceBulkUpdateTest {
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    private Long chocolateId;
+    private Long truffleId;
+    private Long lollipopId;
+
+    @BeforeEach
+    void setUp() {
+        chocolateId = sweetRepository.save(new Sweet(null, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 10)).getId();
+        truffleId = sweetRepository.save(new Sweet(null, "Truffle", "Chocolate", new BigDecimal("2.00"), 0)).getId();
+        lollipopId = sweetRepository.save(new Sweet(null, "Lollipop", "Candy", new BigDecimal("2.50"), 1)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testRestockSweets_CountsOnlyExistingSweets() {
+        // Given
+        BulkRestockRequest request = new BulkRestockRequest(List.of(
+                new OrderItemRequest(chocolateId, 5),
+                new OrderItemRequest(lollipopId, 2),
+                new OrderItemRequest(chocolateId, 1),
+                new OrderItemRequest(999_999L, 4)
+        ));
+
+        // When
+        BulkUpdateResponse response = sweetService.restockSweets(request);
+
+        // Then
+        assertEquals(2, response.getAffectedRows());
+        assertEquals(16, sweetRepository.findById(chocolateId).orElseThrow().getQuantity());
+        assertEquals(3, sweetRepository.findById(lollipopId).orElseThrow().getQuantity());
+        assertEquals(0, sweetRepository.findById(truffleId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testRestockSweets_SpansSeveralChunks() {
+        // Given
+        List<OrderItemRequest> items = new ArrayList<>();
+        items.add(new OrderItemRequest(truffleId, 3));
+        for (long id = 1_000_000; id < 1_001_200; id++) {
+            items.add(new OrderItemRequest(id, 1));
+        }
+
+        // When
+        BulkUpdateResponse response = sweetService.restockSweets(new BulkRestockRequest(items));
+
+        // Then
+        assertEquals(1, response.getAffectedRows());
+        assertEquals(3, sweetRepository.findById(truffleId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testAdjustPrices_ChangesOnlyTheCategory() {
+        // Given
+        PriceAdjustmentRequest request = new PriceAdjustmentRequest("Chocolate", new BigDecimal("5"));
+
+        // When
+        BulkUpdateResponse response = sweetService.adjustPrices(request);
+
+        // Then
+        assertEquals(2, response.getAffectedRows());
+        assertEquals(0, new BigDecimal("6.29").compareTo(sweetRepository.findById(chocolateId).orElseThrow().getPrice()));
+        assertEquals(0, new BigDecimal("2.10").compareTo(sweetRepository.findById(truffleId).orElseThrow().getPrice()));
+        assertEquals(0, new BigDecimal("2.50").compareTo(sweetRepository.findById(lollipopId).orElseThrow().getPrice()));
+    }
+
+    @Test
+    void testAdjustPrices_VisibleThroughCatalog() {
+        // Given
+        PriceAdjustmentRequest request = new PriceAdjustmentRequest("Candy", new BigDecimal("-10"));
+
+        // When
+        sweetService.adjustPrices(request);
+
+        // Then
+        assertEquals(0, new BigDecimal("2.25").compareTo(sweetService.getSweetById(lollipopId).getPrice()));
+    }
+}
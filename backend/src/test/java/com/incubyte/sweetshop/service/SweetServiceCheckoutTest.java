@@ -0,0 +1,74 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.dto.OrderItemRequest;
+import com.incubyte.sweetshop.dto.OrderRequest;
+import com.incubyte.sweetshop.dto.OrderResponse;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SweetServiceCheckoutTest {
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    private Long chocolateId;
+    private Long lollipopId;
+
+    @BeforeEach
+    void setUp() {
+        chocolateId = sweetRepository.save(new Sweet(null, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 10)).getId();
+        lollipopId = sweetRepository.save(new Sweet(null, "Lollipop", "Candy", new BigDecimal("2.50"), 1)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testCheckout_Success() {
+        // Given
+        OrderRequest request = new OrderRequest(List.of(
+                new OrderItemRequest(lollipopId, 1),
+                new OrderItemRequest(chocolateId, 2),
+                new OrderItemRequest(chocolateId, 1)
+        ));
+
+        // When
+        OrderResponse response = sweetService.checkout(request);
+
+        // Then
+        assertEquals(2, response.getSweets().size());
+        assertEquals(0, new BigDecimal("20.47").compareTo(response.getTotalPrice()));
+        assertEquals(7, sweetRepository.findById(chocolateId).orElseThrow().getQuantity());
+        assertEquals(0, sweetRepository.findById(lollipopId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testCheckout_OutOfStockRollsBackWholeOrder() {
+        // Given
+        OrderRequest request = new OrderRequest(List.of(
+                new OrderItemRequest(chocolateId, 3),
+                new OrderItemRequest(lollipopId, 2)
+        ));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> sweetService.checkout(request));
+        assertEquals(10, sweetRepository.findById(chocolateId).orElseThrow().getQuantity());
+        assertEquals(1, sweetRepository.findById(lollipopId).orElseThrow().getQuantity());
+    }
+}
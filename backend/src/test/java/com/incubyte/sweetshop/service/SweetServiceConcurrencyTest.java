@@ -0,0 +1,84 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SweetServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentPurchases_NeverOversell() throws Exception {
+        // Given
+        int initialStock = 100;
+        Long id = sweetRepository.save(new Sweet(null, "Hot Item", "Chocolate", new BigDecimal("1.00"), initialStock)).getId();
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        sweetService.purchaseSweet(id);
+                        sold.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(initialStock, sold.get());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - initialStock, rejected.get());
+        assertEquals(0, sweetRepository.findById(id).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testPurchaseMultipleUnits_RejectsWhenShort() {
+        // Given
+        Long id = sweetRepository.save(new Sweet(null, "Gummy Bears", "Gummies", new BigDecimal("4.99"), 3)).getId();
+
+        // When
+        Sweet result = sweetService.purchaseSweet(id, 2);
+
+        // Then
+        assertEquals(1, result.getQuantity());
+        assertThrows(RuntimeException.class, () -> sweetService.purchaseSweet(id, 2));
+        assertEquals(1, sweetRepository.findById(id).orElseThrow().getQuantity());
+    }
+}
@@ -0,0 +1,88 @@
+package com.incubyte.sweetshop.service;
+
+import com.incubyte.sweetshop.catalog.CategoryFacets;
+import com.incubyte.sweetshop.dto.CategoryFacet;
+import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.repository.SweetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SweetServiceFacetsTest {
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private CategoryFacets categoryFacets;
+
+    @BeforeEach
+    void setUp() {
+        // Rows written straight through the repository publish no events
+        sweetRepository.deleteAll();
+        categoryFacets.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void testFacets_FollowServiceMutations() {
+        // Given
+        Sweet chocolate = sweetService.createSweet(request("Chocolate Bar", "Chocolate", "5.99", 10));
+        Sweet truffle = sweetService.createSweet(request("Truffle", "Chocolate", "2.00", 4));
+        Sweet lollipop = sweetService.createSweet(request("Lollipop", "Candy", "2.50", 1));
+
+        // When
+        sweetService.purchaseSweet(chocolate.getId(), 3);
+        sweetService.restockSweet(lollipop.getId(), 9);
+        sweetService.updateSweet(truffle.getId(), request("Truffle", "Gourmet", "3.00", 4));
+        sweetService.createSweet(request("Fudge", "Gourmet", "4.25", 2));
+
+        // Then
+        List<CategoryFacet> facets = sweetService.getCategoryFacets();
+        assertEquals(List.of(
+                new CategoryFacet("Candy", 1, 10, new BigDecimal("2.50"), new BigDecimal("2.50")),
+                new CategoryFacet("Chocolate", 1, 7, new BigDecimal("5.99"), new BigDecimal("5.99")),
+                new CategoryFacet("Gourmet", 2, 6, new BigDecimal("3.00"), new BigDecimal("4.25"))
+        ), facets);
+        assertEquals(sweetRepository.aggregateByCategory(), facets);
+    }
+
+    @Test
+    void testFacets_DropEmptyCategoryOnDelete() {
+        // Given
+        Sweet lollipop = sweetService.createSweet(request("Lollipop", "Candy", "2.50", 1));
+        sweetService.createSweet(request("Chocolate Bar", "Chocolate", "5.99", 10));
+
+        // When
+        sweetService.deleteSweet(lollipop.getId());
+
+        // Then
+        assertEquals(List.of("Chocolate"),
+                sweetService.getCategoryFacets().stream().map(CategoryFacet::category).toList());
+    }
+
+    private static SweetRequest request(String name, String category, String price, int quantity) {
+        SweetRequest request = new SweetRequest();
+        request.setName(name);
+        request.setCategory(category);
+        request.setPrice(new BigDecimal(price));
+        request.setQuantity(quantity);
+        return request;
+    }
+}
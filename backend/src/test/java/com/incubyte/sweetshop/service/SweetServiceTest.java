@@ -1,22 +1,39 @@
 package com.incubyte.sweetshop.service;
 
+import com.incubyte.sweetshop.catalog.CatalogReplica;
+import com.incubyte.sweetshop.catalog.SweetNearCache;
+import com.incubyte.sweetshop.dto.CursorPage;
+import com.incubyte.sweetshop.dto.SearchRequest;
 import com.incubyte.sweetshop.dto.SweetRequest;
+import com.incubyte.sweetshop.dto.SweetView;
 import com.incubyte.sweetshop.entity.Sweet;
+import com.incubyte.sweetshop.exception.ConflictException;
+import com.incubyte.sweetshop.flashsale.FlashSaleStock;
+import com.incubyte.sweetshop.metrics.SweetShopMetrics;
 import com.incubyte.sweetshop.repository.SweetRepository;
+import com.incubyte.sweetshop.search.PriceKey;
+import com.incubyte.sweetshop.search.SweetSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +42,27 @@ class SweetServiceTest {
     @Mock
     private SweetRepository sweetRepository;
 
+    @Mock
+    private SweetSearchIndex sweetSearchIndex;
+
+    @Mock
+    private CatalogReplica catalogReplica;
+
+    @Mock
+    private SweetNearCache sweetNearCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SweetShopMetrics metrics;
+
+    @Mock
+    private FlashSaleStock flashSaleStock;
+
+    @Mock
+    private OptimisticRetry optimisticRetry;
+
     @InjectMocks
     private SweetService sweetService;
 
@@ -45,6 +83,11 @@ class SweetServiceTest {
         sweetRequest.setCategory("Chocolate");
         sweetRequest.setPrice(new BigDecimal("5.99"));
         sweetRequest.setQuantity(10);
+
+        lenient().when(sweetNearCache.get(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Function<Long, Sweet>>getArgument(1).apply(invocation.getArgument(0)));
+        lenient().when(optimisticRetry.execute(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -63,6 +106,110 @@ class SweetServiceTest {
         verify(sweetRepository, times(1)).findAll();
     }
 
+    @Test
+    void testGetAllSweetsPage_ReturnsNextCursorWhenMoreRowsExist() {
+        // Given
+        SweetView second = new SweetView(2L, "Lollipop", "Candy", new BigDecimal("2.50"), 100, 0L);
+        SweetView third = new SweetView(3L, "Gummy Bears", "Gummies", new BigDecimal("4.99"), 75, 0L);
+        when(sweetRepository.findViewsByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(SweetView.from(testSweet), second, third));
+
+        // When
+        CursorPage<SweetView> page = sweetService.getAllSweets(null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+
+        // When
+        when(sweetRepository.findViewsByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .thenReturn(List.of(third));
+        CursorPage<SweetView> next = sweetService.getAllSweets(page.getNextCursor(), 2);
+
+        // Then
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testSearchSweets_CapsLimitAtMaxPageSize() {
+        // Given
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setName("choc");
+        when(sweetRepository.searchSweets(eq("choc"), isNull(), isNull(), isNull(), eq(0L), eq(Limit.of(101))))
+                .thenReturn(List.of(SweetView.from(testSweet)));
+
+        // When
+        CursorPage<SweetView> page = sweetService.searchSweets(searchRequest, null, 10_000);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testSearchSweets_SortByPriceKeepsIndexOrder() {
+        // Given
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setSort("price");
+        Sweet lollipop = new Sweet(2L, "Lollipop", "Candy", new BigDecimal("2.50"), 5);
+        when(sweetSearchIndex.isReady()).thenReturn(true);
+        when(sweetSearchIndex.searchByPrice(isNull(), isNull(), isNull(), isNull(), eq(false), isNull(), eq(2)))
+                .thenReturn(List.of(new PriceKey(250, 2L), new PriceKey(599, 1L)));
+        when(sweetSearchIndex.searchByPrice(isNull(), isNull(), isNull(), isNull(), eq(false), eq(new PriceKey(250, 2L)), eq(2)))
+                .thenReturn(List.of(new PriceKey(599, 1L)));
+        when(sweetRepository.findViewsByIdIn(List.of(2L))).thenReturn(List.of(SweetView.from(lollipop)));
+        when(sweetRepository.findViewsByIdIn(List.of(1L))).thenReturn(List.of(SweetView.from(testSweet)));
+
+        // When
+        CursorPage<SweetView> first = sweetService.searchSweets(searchRequest, null, 1);
+        CursorPage<SweetView> second = sweetService.searchSweets(searchRequest, first.getNextCursor(), 1);
+
+        // Then
+        assertEquals(List.of(2L), first.getItems().stream().map(SweetView::id).toList());
+        assertEquals(List.of(1L), second.getItems().stream().map(SweetView::id).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testSearchSweets_SortByPriceFallsBackToSql() {
+        // Given
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setSort("-price");
+        Sweet lollipop = new Sweet(2L, "Lollipop", "Candy", new BigDecimal("2.50"), 5);
+        when(sweetRepository.searchSweetsByPriceDesc(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(Limit.of(2))))
+                .thenReturn(List.of(SweetView.from(testSweet), SweetView.from(lollipop)));
+        when(sweetRepository.searchSweetsByPriceDesc(isNull(), isNull(), isNull(), isNull(),
+                eq(new BigDecimal("5.99")), eq(1L), eq(Limit.of(2))))
+                .thenReturn(List.of(SweetView.from(lollipop)));
+
+        // When
+        CursorPage<SweetView> first = sweetService.searchSweets(searchRequest, null, 1);
+        CursorPage<SweetView> second = sweetService.searchSweets(searchRequest, first.getNextCursor(), 1);
+
+        // Then
+        assertEquals(List.of(1L), first.getItems().stream().map(SweetView::id).toList());
+        assertEquals(List.of(2L), second.getItems().stream().map(SweetView::id).toList());
+    }
+
+    @Test
+    void testSearchSweets_UnsupportedSort() {
+        // Given
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setSort("quantity");
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> sweetService.searchSweets(searchRequest, null, 10));
+        assertEquals("Unsupported sort: quantity", exception.getMessage());
+    }
+
+    @Test
+    void testGetAllSweetsPage_InvalidCursor() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> sweetService.getAllSweets("not-a-cursor", 10));
+    }
+
     @Test
     void testGetSweetById_Success() {
         // Given
@@ -77,6 +224,19 @@ class SweetServiceTest {
         verify(sweetRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testGetSweetById_ServedFromReplica() {
+        // Given
+        when(catalogReplica.findById(1L)).thenReturn(Optional.of(testSweet));
+
+        // When
+        Sweet result = sweetService.getSweetById(1L);
+
+        // Then
+        assertEquals("Chocolate Bar", result.getName());
+        verify(sweetRepository, never()).findById(any());
+    }
+
     @Test
     void testGetSweetById_NotFound() {
         // Given
@@ -111,7 +271,7 @@ class SweetServiceTest {
         updatedSweet.setQuantity(15);
 
         when(sweetRepository.findById(1L)).thenReturn(Optional.of(testSweet));
-        when(sweetRepository.save(any(Sweet.class))).thenReturn(updatedSweet);
+        when(sweetRepository.saveAndFlush(any(Sweet.class))).thenReturn(updatedSweet);
 
         SweetRequest updateRequest = new SweetRequest();
         updateRequest.setName("Updated Chocolate Bar");
@@ -127,7 +287,7 @@ class SweetServiceTest {
         assertEquals("Updated Chocolate Bar", result.getName());
         assertEquals(new BigDecimal("6.99"), result.getPrice());
         verify(sweetRepository, times(1)).findById(1L);
-        verify(sweetRepository, times(1)).save(any(Sweet.class));
+        verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
     }
 
     @Test
@@ -154,8 +314,9 @@ class SweetServiceTest {
         sweetAfterPurchase.setPrice(new BigDecimal("5.99"));
         sweetAfterPurchase.setQuantity(9);
 
-        when(sweetRepository.findById(1L)).thenReturn(Optional.of(testSweet));
-        when(sweetRepository.save(any(Sweet.class))).thenReturn(sweetAfterPurchase);
+        when(flashSaleStock.take(1L, 1)).thenReturn(FlashSaleStock.TakeResult.NOT_HOT);
+        when(sweetRepository.decrementStock(1L, 1)).thenReturn(1);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweetAfterPurchase));
 
         // When
         Sweet result = sweetService.purchaseSweet(1L);
@@ -163,19 +324,96 @@ class SweetServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(9, result.getQuantity());
-        verify(sweetRepository, times(1)).findById(1L);
-        verify(sweetRepository, times(1)).save(any(Sweet.class));
+        verify(sweetRepository, times(1)).decrementStock(1L, 1);
+        verify(sweetRepository, never()).save(any(Sweet.class));
+        verify(metrics, times(1)).recordPurchase(1);
     }
 
     @Test
     void testPurchaseSweet_OutOfStock() {
         // Given
         testSweet.setQuantity(0);
+        when(flashSaleStock.take(1L, 1)).thenReturn(FlashSaleStock.TakeResult.NOT_HOT);
+        when(sweetRepository.decrementStock(1L, 1)).thenReturn(0);
         when(sweetRepository.findById(1L)).thenReturn(Optional.of(testSweet));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> sweetService.purchaseSweet(1L));
-        verify(sweetRepository, times(1)).findById(1L);
+        verify(sweetRepository, times(1)).decrementStock(1L, 1);
+        verify(sweetRepository, never()).save(any(Sweet.class));
+        verify(metrics, times(1)).recordOutOfStock();
+        verify(metrics, never()).recordPurchase(anyInt());
+    }
+
+    @Test
+    void testPurchaseSweet_NotFound() {
+        // Given
+        when(flashSaleStock.take(1L, 1)).thenReturn(FlashSaleStock.TakeResult.NOT_HOT);
+        when(sweetRepository.decrementStock(1L, 1)).thenReturn(0);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> sweetService.purchaseSweet(1L));
+        assertEquals("Sweet not found with id: 1", ex.getMessage());
+    }
+
+    @Test
+    void testPurchaseSweet_FlashSaleSkipsDatabase() {
+        // Given
+        Sweet live = new Sweet(1L, "Chocolate Bar", "Chocolate", new BigDecimal("5.99"), 9);
+        when(flashSaleStock.take(1L, 1)).thenReturn(FlashSaleStock.TakeResult.TAKEN);
+        when(catalogReplica.findById(1L)).thenReturn(Optional.of(testSweet));
+        when(flashSaleStock.withLiveQuantity(testSweet)).thenReturn(live);
+
+        // When
+        Sweet result = sweetService.purchaseSweet(1L);
+
+        // Then
+        assertEquals(9, result.getQuantity());
+        verify(sweetRepository, never()).decrementStock(anyLong(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(metrics, times(1)).recordPurchase(1);
+    }
+
+    @Test
+    void testUpdateSweet_RejectedDuringFlashSale() {
+        // Given
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(testSweet));
+        when(sweetRepository.saveAndFlush(any(Sweet.class))).thenReturn(testSweet);
+        when(flashSaleStock.isHot(1L)).thenReturn(true);
+
+        // When & Then: the check follows the flushed write, so the transaction rolls the write back
+        assertThrows(ConflictException.class, () -> sweetService.updateSweet(1L, sweetRequest));
+        InOrder inOrder = inOrder(sweetRepository, flashSaleStock);
+        inOrder.verify(sweetRepository).saveAndFlush(any(Sweet.class));
+        inOrder.verify(flashSaleStock).isHot(1L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testDeleteSweet_RejectedDuringFlashSale() {
+        // Given
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(testSweet));
+        when(flashSaleStock.isHot(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> sweetService.deleteSweet(1L));
+        InOrder inOrder = inOrder(sweetRepository, flashSaleStock);
+        inOrder.verify(sweetRepository).flush();
+        inOrder.verify(flashSaleStock).isHot(1L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateSweet_StaleVersionRejected() {
+        // Given
+        testSweet.setVersion(3L);
+        sweetRequest.setVersion(2L);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(testSweet));
+
+        // When & Then
+        ConflictException ex = assertThrows(ConflictException.class, () -> sweetService.updateSweet(1L, sweetRequest));
+        assertEquals("Sweet was modified since version 2", ex.getMessage());
         verify(sweetRepository, never()).save(any(Sweet.class));
     }
 
@@ -8,6 +8,7 @@ import SearchBar from '../components/SearchBar'
 const Dashboard = ({ onLogout }) => {
   const [sweets, setSweets] = useState([])
   const [filteredSweets, setFilteredSweets] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState('')
   const [success, setSuccess] = useState('')
@@ -34,8 +35,9 @@ const Dashboard = ({ onLogout }) => {
     try {
       setLoading(true)
       const response = await api.get('/sweets')
-      setSweets(response.data)
-      setFilteredSweets(response.data)
+      setSweets(response.data.items)
+      setFilteredSweets(response.data.items)
+      setNextCursor(response.data.nextCursor)
     } catch (err) {
       setError('Failed to fetch sweets. Please try again.')
     } finally {
@@ -43,24 +45,46 @@ const Dashboard = ({ onLogout }) => {
     }
   }
 
+  const buildSearchParams = () => {
+    const params = new URLSearchParams()
+    if (searchFilters.name) params.append('name', searchFilters.name)
+    if (searchFilters.category) params.append('category', searchFilters.category)
+    if (searchFilters.minPrice) params.append('minPrice', searchFilters.minPrice)
+    if (searchFilters.maxPrice) params.append('maxPrice', searchFilters.maxPrice)
+    return params
+  }
+
+  const fetchPage = (params) => {
+    const hasFilters = ['name', 'category', 'minPrice', 'maxPrice'].some((key) => params.has(key))
+    return hasFilters
+      ? api.get(`/sweets/search?${params.toString()}`)
+      : api.get(`/sweets?${params.toString()}`)
+  }
+
   const filterSweets = async () => {
     try {
-      const params = new URLSearchParams()
-      if (searchFilters.name) params.append('name', searchFilters.name)
-      if (searchFilters.category) params.append('category', searchFilters.category)
-      if (searchFilters.minPrice) params.append('minPrice', searchFilters.minPrice)
-      if (searchFilters.maxPrice) params.append('maxPrice', searchFilters.maxPrice)
-
-      const response = await params.toString() 
-        ? await api.get(`/sweets/search?${params.toString()}`)
-        : await api.get('/sweets')
+      const response = await fetchPage(buildSearchParams())
       
-      setFilteredSweets(response.data)
+      setFilteredSweets(response.data.items)
+      setNextCursor(response.data.nextCursor)
     } catch (err) {
       setError('Failed to search sweets.')
     }
   }
 
+  const loadMore = async () => {
+    try {
+      const params = buildSearchParams()
+      params.append('cursor', nextCursor)
+      const response = await fetchPage(params)
+
+      setFilteredSweets((current) => [...current, ...response.data.items])
+      setNextCursor(response.data.nextCursor)
+    } catch (err) {
+      setError('Failed to load more sweets.')
+    }
+  }
+
   const handlePurchase = async (id) => {
     try {
       await api.post(`/sweets/${id}/purchase`)
@@ -168,6 +192,14 @@ const Dashboard = ({ onLogout }) => {
         </div>
       )}
 
+      {!loading && nextCursor && (
+        <div style={{ textAlign: 'center', marginTop: '24px' }}>
+          <button className="button button-secondary" onClick={loadMore}>
+            Load more
+          </button>
+        </div>
+      )}
+
       {showModal && (
         <SweetModal
           sweet={editingSweet}